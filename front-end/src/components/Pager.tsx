@@ -0,0 +1,34 @@
+import React from 'react';
+
+interface PagerProps {
+  pageNumber: number;
+  hasPrev: boolean;
+  hasNext: boolean;
+  loading?: boolean;
+  onPrev: () => void;
+  onNext: () => void;
+}
+
+// Nút Trước/Sau cho danh sách lấy từng trang từ server (không biết tổng số trang)
+const Pager: React.FC<PagerProps> = ({ pageNumber, hasPrev, hasNext, loading = false, onPrev, onNext }) => {
+  if (!hasPrev && !hasNext) {
+    return null;
+  }
+  return (
+    <div className="flex justify-center items-center mt-4 gap-2">
+      <button
+        onClick={onPrev}
+        disabled={!hasPrev || loading}
+        className="px-3 py-1 rounded bg-gray-200 disabled:opacity-50"
+      >Trước</button>
+      <span>Trang {pageNumber}</span>
+      <button
+        onClick={onNext}
+        disabled={!hasNext || loading}
+        className="px-3 py-1 rounded bg-gray-200 disabled:opacity-50"
+      >Sau</button>
+    </div>
+  );
+};
+
+export default Pager;
@@ -1,6 +1,8 @@
-import React, { useState, useEffect } from 'react';
+import React from 'react';
 import { motion } from 'framer-motion';
 import { paymentService } from '../services/api';
+import { usePagedList } from '../hooks/usePagedList';
+import Pager from './Pager';
 import { format } from 'date-fns';
 import { CreditCard, Building, Shield, CheckCircle, XCircle, Clock } from 'lucide-react';
 
@@ -19,26 +21,20 @@ interface Payment {
   };
 }
 
-const PaymentHistory: React.FC = () => {
-  const [payments, setPayments] = useState<Payment[]>([]);
-  const [loading, setLoading] = useState(true);
-  const [error, setError] = useState<string | null>(null);
-
-  useEffect(() => {
-    fetchPayments();
-  }, []);
+interface PaymentHistoryProps {
+  patientId?: number;
+}
 
-  const fetchPayments = async () => {
-    try {
-      setLoading(true);
-      const response = await paymentService.getAllPayments();
-      setPayments(response.data);
-    } catch (err: any) {
-      setError(err.response?.data?.message || 'Không thể tải lịch sử thanh toán');
-    } finally {
-      setLoading(false);
-    }
-  };
+const PaymentHistory: React.FC<PaymentHistoryProps> = ({ patientId }) => {
+  const paymentList = usePagedList<Payment>(
+    request => paymentService.getAllPayments(patientId, request),
+    [patientId]
+  );
+  const payments = paymentList.items;
+  const loading = paymentList.loading;
+  const error = paymentList.error
+    ? (paymentList.error as any).response?.data?.message || 'Không thể tải lịch sử thanh toán'
+    : null;
 
   const getMethodIcon = (method: string) => {
     switch (method.toLowerCase()) {
@@ -118,7 +114,7 @@ const PaymentHistory: React.FC = () => {
       <div className="flex items-center justify-between">
         <h2 className="text-xl font-semibold text-gray-900">Lịch sử thanh toán</h2>
         <button
-          onClick={fetchPayments}
+          onClick={paymentList.reload}
           className="text-sm text-primary-600 hover:text-primary-700 font-medium"
         >
           Làm mới
@@ -191,6 +187,15 @@ const PaymentHistory: React.FC = () => {
           ))}
         </div>
       )}
+
+      <Pager
+        pageNumber={paymentList.pageNumber}
+        hasPrev={paymentList.hasPrev}
+        hasNext={paymentList.hasNext}
+        loading={loading}
+        onPrev={paymentList.prev}
+        onNext={paymentList.next}
+      />
     </div>
   );
 };
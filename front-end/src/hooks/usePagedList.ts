@@ -0,0 +1,85 @@
+import { useCallback, useEffect, useRef, useState } from 'react';
+import type { AxiosResponse } from 'axios';
+import { nextPageOf, type PageRequest } from '../services/api';
+
+// Danh sách phân trang phía server: chỉ giữ trang đang xem, chuyển trang theo header của phản hồi.
+// Đổi filters sẽ quay về trang đầu.
+export const usePagedList = <T>(
+  fetchPage: (request: PageRequest) => Promise<AxiosResponse<T[]>>,
+  filters: unknown[] = [],
+  enabled = true
+) => {
+  const filterKey = JSON.stringify(filters);
+  const [navigation, setNavigation] = useState<{ filterKey: string; history: PageRequest[] }>({
+    filterKey,
+    history: [{}],
+  });
+  const history = navigation.filterKey === filterKey ? navigation.history : [{}];
+  const current = history[history.length - 1];
+  const currentKey = JSON.stringify(current);
+
+  const [items, setItems] = useState<T[]>([]);
+  const [nextRequest, setNextRequest] = useState<PageRequest | null>(null);
+  const [loading, setLoading] = useState(false);
+  const [error, setError] = useState<unknown>(null);
+  const [reloadCount, setReloadCount] = useState(0);
+
+  const fetchRef = useRef(fetchPage);
+  fetchRef.current = fetchPage;
+
+  useEffect(() => {
+    if (!enabled) {
+      return;
+    }
+    let cancelled = false;
+    setLoading(true);
+    fetchRef.current(current)
+      .then(response => {
+        if (cancelled) return;
+        setItems(response.data || []);
+        setNextRequest(nextPageOf(response, current));
+        setError(null);
+      })
+      .catch(err => {
+        if (cancelled) return;
+        setItems([]);
+        setNextRequest(null);
+        setError(err);
+      })
+      .finally(() => {
+        if (!cancelled) setLoading(false);
+      });
+    return () => {
+      cancelled = true;
+    };
+    // current được xác định bởi filterKey và currentKey
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [filterKey, currentKey, reloadCount, enabled]);
+
+  const next = useCallback(() => {
+    if (nextRequest) {
+      setNavigation({ filterKey, history: [...history, nextRequest] });
+    }
+  }, [filterKey, history, nextRequest]);
+
+  const prev = useCallback(() => {
+    if (history.length > 1) {
+      setNavigation({ filterKey, history: history.slice(0, -1) });
+    }
+  }, [filterKey, history]);
+
+  const reload = useCallback(() => setReloadCount(count => count + 1), []);
+
+  return {
+    items,
+    setItems,
+    loading,
+    error,
+    pageNumber: history.length,
+    hasPrev: history.length > 1,
+    hasNext: nextRequest !== null,
+    next,
+    prev,
+    reload,
+  };
+};
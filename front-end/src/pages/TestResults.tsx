@@ -7,6 +7,8 @@ import { Calendar, Clock, User, FileText, CheckCircle, XCircle, Clock as ClockIc
 import { labResultService } from '../services/api';
 import { LabResult, LabTestType } from '../types';
 import Modal from '../components/Modal';
+import Pager from '../components/Pager';
+import { usePagedList } from '../hooks/usePagedList';
 import { useAuth } from '../contexts/AuthContext';
 import api from '../services/api';
 
@@ -32,8 +34,6 @@ interface Consultation {
 const TestResults: React.FC = () => {
   const { user } = useAuth();
   const [activeTab, setActiveTab] = useState<'tests' | 'consultations'>('tests');
-  const [labBookings, setLabBookings] = useState<LabBooking[]>([]);
-  const [consultations, setConsultations] = useState<Consultation[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [labResults, setLabResults] = useState<LabResult[]>([]);
@@ -48,6 +48,19 @@ const TestResults: React.FC = () => {
     notes: ''
   });
   const [patientId, setPatientId] = useState<number | null>(null);
+  // Lịch xét nghiệm và lịch tư vấn lấy từng trang từ server
+  const labBookingList = usePagedList<LabBooking>(
+    request => testService.getLabBookingsByPatient(patientId as number, request),
+    [patientId],
+    patientId !== null
+  );
+  const consultationList = usePagedList<Consultation>(
+    request => consultationService.getConsultationsByPatient(patientId as number, request),
+    [patientId],
+    patientId !== null
+  );
+  const labBookings = labBookingList.items;
+  const consultations = consultationList.items;
 
   useEffect(() => {
     if (user) {
@@ -67,14 +80,10 @@ const TestResults: React.FC = () => {
     if (!patientId) return;
     try {
       setLoading(true);
-      const [labBookingsRes, consultationsRes, resultsRes, typesRes] = await Promise.all([
-        testService.getLabBookingsByPatient(patientId),
-        consultationService.getConsultationsByPatient(patientId),
-        labResultService.getAllLabResults(),
+      const [resultsRes, typesRes] = await Promise.all([
+        labResultService.getAllLabResults(patientId),
         testService.getTestTypes()
       ]);
-      setLabBookings(labBookingsRes.data);
-      setConsultations(consultationsRes.data);
       setLabResults(resultsRes.data);
       setTestTypes(typesRes.data);
     } catch (err: any) {
@@ -202,7 +211,7 @@ const TestResults: React.FC = () => {
                       : 'border-transparent text-gray-500 hover:text-gray-700 hover:border-gray-300'
                   }`}
                 >
-                  Lịch xét nghiệm ({labBookings.length})
+                  Lịch xét nghiệm
                 </button>
                 <button
                   onClick={() => setActiveTab('consultations')}
@@ -212,7 +221,7 @@ const TestResults: React.FC = () => {
                       : 'border-transparent text-gray-500 hover:text-gray-700 hover:border-gray-300'
                   }`}
                 >
-                  Lịch tư vấn ({consultations.length})
+                  Lịch tư vấn
                 </button>
               </nav>
             </div>
@@ -266,6 +275,14 @@ const TestResults: React.FC = () => {
                   </div>
                 ))
               )}
+              <Pager
+                pageNumber={labBookingList.pageNumber}
+                hasPrev={labBookingList.hasPrev}
+                hasNext={labBookingList.hasNext}
+                loading={labBookingList.loading}
+                onPrev={labBookingList.prev}
+                onNext={labBookingList.next}
+              />
             </div>
           )}
 
@@ -319,6 +336,14 @@ const TestResults: React.FC = () => {
                   </div>
                 ))
               )}
+              <Pager
+                pageNumber={consultationList.pageNumber}
+                hasPrev={consultationList.hasPrev}
+                hasNext={consultationList.hasNext}
+                loading={consultationList.loading}
+                onPrev={consultationList.prev}
+                onNext={consultationList.next}
+              />
             </div>
           )}
         </motion.div>
@@ -32,6 +32,8 @@ import { FaFileMedical, FaEye, FaPlus } from 'react-icons/fa';
 import api, { consultationService, medicationService, prescriptionService } from '../../services/api';
 import ConsultationDetailModal from '../../components/ConsultationDetailModal';
 import PatientDetailModal from '../../components/PatientDetailModal';
+import Pager from '../../components/Pager';
+import { usePagedList } from '../../hooks/usePagedList';
 
 type TabType = 'profile' | 'schedule' | 'consultation' | 'patient-history';
 
@@ -64,7 +66,6 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
   const [isEditing, setIsEditing] = useState(false);
   const [activeTab, setActiveTab] = useState<TabType>('profile');
   const [appointments, setAppointments] = useState<Appointment[]>([]);
-  const [consultations, setConsultations] = useState<any[]>([]);
   const [selectedDate, setSelectedDate] = useState<Date>(new Date());
   const [selectedStatus, setSelectedStatus] = useState<string>('all');
   const [selectedConsultationStatus, setSelectedConsultationStatus] = useState<string>('all');
@@ -81,9 +82,15 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
     qualification: '',
   });
   const [appointmentPage, setAppointmentPage] = useState(1);
-  const [consultationPage, setConsultationPage] = useState(1);
   const PAGE_SIZE = 10;
   const [doctorId, setDoctorId] = useState<number | null>(null);
+  // Lịch tư vấn lấy từng trang từ server, đã sắp theo thời gian bắt đầu giảm dần
+  const consultationList = usePagedList<any>(
+    request => consultationService.getConsultationsByDoctor(doctorId as number, request),
+    [doctorId],
+    doctorId !== null
+  );
+  const { items: consultations, setItems: setConsultations } = consultationList;
   const [patientTreatmentPlans, setPatientTreatmentPlans] = useState<any[]>([]);
   const [loadingPatients, setLoadingPatients] = useState(false);
   const [patients, setPatients] = useState<Patient[]>([]);
@@ -178,10 +185,6 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
       api.get(`/appointments?doctorId=${doctorId}`)
         .then(res => setAppointments(res.data))
         .catch(() => setAppointments([]));
-      // Lấy lịch tư vấn (consultations)
-      consultationService.getConsultationsByDoctor(doctorId)
-        .then(res => setConsultations(res.data || []))
-        .catch(() => setConsultations([]));
       // Tự động load dữ liệu bệnh nhân
       loadInitialPatientData();
     }
@@ -324,17 +327,6 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
   });
   const paginatedAppointments = sortedAppointments.slice((appointmentPage - 1) * PAGE_SIZE, appointmentPage * PAGE_SIZE);
 
-  // Lọc consultations
-  const filteredConsultations = consultations.filter(
-    (c) => selectedConsultationStatus === 'all' || normalizeStatus(c.status) === normalizeStatus(selectedConsultationStatus)
-  );
-  const sortedConsultations = [...filteredConsultations].sort((a, b) => {
-    const dateA = new Date(a.startTime);
-    const dateB = new Date(b.startTime);
-    return dateB.getTime() - dateA.getTime();
-  });
-  const paginatedConsultations = sortedConsultations.slice((consultationPage - 1) * PAGE_SIZE, consultationPage * PAGE_SIZE);
-
   const renderProfileTab = () => (
     <div className="space-y-6">
       <div className="bg-white rounded-xl shadow-lg p-8 border border-gray-100">
@@ -695,7 +687,6 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
       const dateB = new Date(b.startTime);
       return dateB.getTime() - dateA.getTime();
     });
-    const paginatedConsultations = sortedConsultations.slice((consultationPage - 1) * PAGE_SIZE, consultationPage * PAGE_SIZE);
 
     return (
       <div className="space-y-6">
@@ -742,8 +733,8 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
         </div>
 
         <div className="grid gap-4">
-          {paginatedConsultations.length > 0 ? (
-            paginatedConsultations.map((consultation: any) => (
+          {sortedConsultations.length > 0 ? (
+            sortedConsultations.map((consultation: any) => (
               <div
                 key={consultation.id}
                 className="bg-white rounded-xl shadow-sm p-6 border border-gray-100 hover:shadow-md transition-shadow duration-200"
@@ -866,21 +857,14 @@ const DoctorProfile: React.FC<DoctorProfileProps> = () => {
           )}
         </div>
         {/* Pagination */}
-        {sortedConsultations.length > PAGE_SIZE && (
-          <div className="flex justify-center mt-4 gap-2">
-            <button
-              onClick={() => setConsultationPage(p => Math.max(1, p - 1))}
-              disabled={consultationPage === 1}
-              className="px-3 py-1 rounded bg-gray-200 disabled:opacity-50"
-            >Trước</button>
-            <span>Trang {consultationPage} / {Math.ceil(sortedConsultations.length / PAGE_SIZE)}</span>
-            <button
-              onClick={() => setConsultationPage(p => p + 1)}
-              disabled={consultationPage >= Math.ceil(sortedConsultations.length / PAGE_SIZE)}
-              className="px-3 py-1 rounded bg-gray-200 disabled:opacity-50"
-            >Sau</button>
-          </div>
-        )}
+        <Pager
+          pageNumber={consultationList.pageNumber}
+          hasPrev={consultationList.hasPrev}
+          hasNext={consultationList.hasNext}
+          loading={consultationList.loading}
+          onPrev={consultationList.prev}
+          onNext={consultationList.next}
+        />
       </div>
     );
   };
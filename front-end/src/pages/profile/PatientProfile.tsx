@@ -32,6 +32,8 @@ import {
 import { User as UserType } from '../../types/index';
 import { useModal } from '../../hooks/useModal';
 import Modal from '../../components/Modal';
+import Pager from '../../components/Pager';
+import { usePagedList } from '../../hooks/usePagedList';
 import { authService, patientService, testService, consultationService } from '../../services/api';
 import { useAuth } from '../../contexts/AuthContext';
 import api from '../../services/api';
@@ -242,8 +244,6 @@ const ProfilePage: React.FC = () => {
   const [treatmentPlans, setTreatmentPlans] = useState<any[]>([]);
   const [loadingPlans, setLoadingPlans] = useState(false);
 
-  const [reminders, setReminders] = useState<any[]>([]);
-
   const [selectedEventId, setSelectedEventId] = useState('');
 
   const [showEditReminderModal, setShowEditReminderModal] = useState(false);
@@ -260,6 +260,27 @@ const ProfilePage: React.FC = () => {
 
   const [reminderStatusFilter, setReminderStatusFilter] = useState('');
   const [reminderTypeFilter, setReminderTypeFilter] = useState('');
+  // Nhắc nhở của bệnh nhân lấy từng trang, lọc trạng thái/loại phía server
+  const reminderList = usePagedList<any>(
+    request => staffService.getRemindersByPatient(
+      patientId as number, reminderStatusFilter || undefined, reminderTypeFilter || undefined, request
+    ).then(res => ({
+      ...res,
+      data: (res.data || []).map((reminder: any) => ({
+        id: reminder.id,
+        createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
+        patient: reminder.patient ? { id: reminder.patient.id } : undefined,
+        reminderType: reminder.reminderType || reminder.type,
+        reminderDate: reminder.reminderDate || (reminder.dueDate + (reminder.dueTime ? `T${reminder.dueTime}` : '')),
+        status: reminder.status || "PENDING",
+        notes: reminder.notes,
+        priority: reminder.priority
+      })),
+    })),
+    [patientId, reminderStatusFilter, reminderTypeFilter],
+    patientId !== null
+  );
+  const reminders = reminderList.items;
 
   // Lấy lịch uống thuốc khi có patientId
   useEffect(() => {
@@ -344,24 +365,6 @@ const ProfilePage: React.FC = () => {
     }
   }, [activeTab, patientId]);
 
-  useEffect(() => {
-    if (patientId) {
-      staffService.getRemindersByPatient(patientId).then(res => {
-        const mapped = (res.data || []).map((reminder: any) => ({
-          id: reminder.id,
-          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-          reminderType: reminder.reminderType,
-          reminderDate: reminder.reminderDate,
-          status: reminder.status,
-          notes: reminder.notes,
-          priority: reminder.priority
-        }));
-        setReminders(mapped);
-      }).catch(() => setReminders([]));
-    }
-  }, [patientId]);
-
   useEffect(() => {
     if (reminders.length > 0) {
       reminders.forEach(reminder => {
@@ -428,22 +431,6 @@ const ProfilePage: React.FC = () => {
     }
   }, [activeTab, patientId]);
 
-  useEffect(() => {
-    staffService.getRemindersByPatient(user.id, reminderStatusFilter || undefined, reminderTypeFilter || undefined).then(res => {
-      const mapped = (res.data || []).map((reminder: any) => ({
-        id: reminder.id,
-        createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-        patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-        reminderType: reminder.reminderType || reminder.type,
-        reminderDate: reminder.reminderDate || (reminder.dueDate + (reminder.dueTime ? `T${reminder.dueTime}` : '')),
-        status: reminder.status || "PENDING",
-        notes: reminder.notes,
-        priority: reminder.priority
-      }));
-      setReminders(mapped);
-    });
-  }, [user.id, reminderStatusFilter, reminderTypeFilter]);
-
   const handleEdit = () => {
     setIsEditing(true);
   };
@@ -1264,19 +1251,7 @@ const ProfilePage: React.FC = () => {
       setShowCreateReminderModal(false);
       setReminderForm({ reminderType: 'MEDICATION', reminderDate: '', notes: '', priority: 'MEDIUM' });
       // Reload reminders
-      staffService.getRemindersByPatient(user.id).then(res => {
-        const mapped = (res.data || []).map((reminder: any) => ({
-          id: reminder.id,
-          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-          reminderType: reminder.reminderType,
-          reminderDate: reminder.reminderDate,
-          status: reminder.status,
-          notes: reminder.notes,
-          priority: reminder.priority
-        }));
-        setReminders(mapped);
-      });
+      reminderList.reload();
     } catch {
       toast.error('Tạo nhắc nhở thất bại!');
     }
@@ -1309,19 +1284,7 @@ const ProfilePage: React.FC = () => {
                     try {
                       await staffService.createMedicationRemindersFromSchedules(patientId, user.id);
                       toast.success('Đã tạo nhắc nhở uống thuốc từ lịch có sẵn!');
-                      staffService.getRemindersByPatient(patientId).then(res => {
-                        const mapped = (res.data || []).map((reminder: any) => ({
-                          id: reminder.id,
-                          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-                          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-                          reminderType: reminder.reminderType,
-                          reminderDate: reminder.reminderDate,
-                          status: reminder.status,
-                          notes: reminder.notes,
-                          priority: reminder.priority
-                        }));
-                        setReminders(mapped);
-                      });
+                      reminderList.reload();
                     } catch {
                       toast.error('Không thể tạo nhắc nhở uống thuốc!');
                     }
@@ -1329,19 +1292,7 @@ const ProfilePage: React.FC = () => {
                     try {
                       await staffService.deleteMedicationRemindersByPatient(patientId);
                       toast.success('Đã xóa tất cả nhắc nhở uống thuốc!');
-                      staffService.getRemindersByPatient(patientId).then(res => {
-                        const mapped = (res.data || []).map((reminder: any) => ({
-                          id: reminder.id,
-                          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-                          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-                          reminderType: reminder.reminderType,
-                          reminderDate: reminder.reminderDate,
-                          status: reminder.status,
-                          notes: reminder.notes,
-                          priority: reminder.priority
-                        }));
-                        setReminders(mapped);
-                      });
+                      reminderList.reload();
                     } catch {
                       toast.error('Không thể xóa nhắc nhở uống thuốc!');
                     }
@@ -1436,19 +1387,7 @@ const ProfilePage: React.FC = () => {
                           }
                         }
                         toast.success('Cập nhật trạng thái thành công!');
-                        staffService.getRemindersByPatient(user.id).then(res => {
-                          const mapped = (res.data || []).map((reminder: any) => ({
-                            id: reminder.id,
-                            createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-                            patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-                            reminderType: reminder.reminderType || reminder.type,
-                            reminderDate: reminder.reminderDate || (reminder.dueDate + (reminder.dueTime ? `T${reminder.dueTime}` : '')),
-                            status: reminder.status || "PENDING",
-                            notes: reminder.notes,
-                            priority: reminder.priority
-                          }));
-                          setReminders(mapped);
-                        });
+                        reminderList.reload();
                         // Reload lại lịch uống thuốc
                         if ((reminder.reminderType === 'MEDICATION' || reminder.type === 'MEDICATION') && newStatus === 'COMPLETED' && patientId) {
                           medicationService.getMedicationSchedulesByPatient(patientId).then(res => {
@@ -1474,6 +1413,14 @@ const ProfilePage: React.FC = () => {
             ))}
           </ul>
         )}
+        <Pager
+          pageNumber={reminderList.pageNumber}
+          hasPrev={reminderList.hasPrev}
+          hasNext={reminderList.hasNext}
+          loading={reminderList.loading}
+          onPrev={reminderList.prev}
+          onNext={reminderList.next}
+        />
         {/* Modal tạo nhắc nhở */}
         {showCreateReminderModal && (
           <div className="fixed inset-0 bg-black bg-opacity-30 flex items-center justify-center z-50">
@@ -1611,19 +1558,7 @@ const ProfilePage: React.FC = () => {
       setEditReminder(null);
       setReminderForm({ reminderType: 'MEDICATION', reminderDate: '', notes: '', priority: 'MEDIUM' });
       // Reload reminders
-      staffService.getRemindersByPatient(user.id).then(res => {
-        const mapped = (res.data || []).map((reminder: any) => ({
-          id: reminder.id,
-          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-          reminderType: reminder.reminderType || reminder.type,
-          reminderDate: reminder.reminderDate || (reminder.dueDate + (reminder.dueTime ? `T${reminder.dueTime}` : '')),
-          status: reminder.status || "PENDING",
-          notes: reminder.notes,
-          priority: reminder.priority
-        }));
-        setReminders(mapped);
-      });
+      reminderList.reload();
     } catch {
       toast.error('Cập nhật nhắc nhở thất bại!');
     }
@@ -1635,19 +1570,7 @@ const ProfilePage: React.FC = () => {
       await staffService.deleteReminder(reminder.id);
       toast.success('Đã xóa nhắc nhở!');
       // Reload reminders
-      staffService.getRemindersByPatient(user.id).then(res => {
-        const mapped = (res.data || []).map((reminder: any) => ({
-          id: reminder.id,
-          createdBy: reminder.createdBy ? { id: reminder.createdBy.id } : undefined,
-          patient: reminder.patient ? { id: reminder.patient.id } : undefined,
-          reminderType: reminder.reminderType || reminder.type,
-          reminderDate: reminder.reminderDate || (reminder.dueDate + (reminder.dueTime ? `T${reminder.dueTime}` : '')),
-          status: reminder.status || "PENDING",
-          notes: reminder.notes,
-          priority: reminder.priority
-        }));
-        setReminders(mapped);
-      });
+      reminderList.reload();
     } catch {
       toast.error('Xóa nhắc nhở thất bại!');
     }
@@ -7,6 +7,8 @@ import PatientManagement from '../../components/PatientManagement';
 import ReminderManagement from '../../components/ReminderManagement';
 import LabBookingManagement from '../../components/LabBookingManagement';
 import ConsultationManagement from '../../components/ConsultationManagement';
+import Pager from '../../components/Pager';
+import { usePagedList } from '../../hooks/usePagedList';
 import { Appointment, LabBooking, User as UserType, OnlineConsultation } from '../../types';
 import { useAuth } from '../../contexts/AuthContext';
 
@@ -46,12 +48,27 @@ const StaffPage: React.FC = () => {
   const [activeTab, setActiveTab] = useState<'appointments' | 'patients' | 'reminders' | 'labBookings' | 'consultations'>('appointments');
   const [loading, setLoading] = useState(false);
 
-  // State for data
-  const [appointments, setAppointments] = useState<Appointment[]>([]);
-  const [patients, setPatients] = useState<Patient[]>([]);
-  const [reminders, setReminders] = useState<Reminder[]>([]);
+  // State for data: các danh sách lớn lấy từng trang từ server
+  const appointmentList = usePagedList<Appointment>(request => staffService.getAllAppointments(request));
+  const patientList = usePagedList<Patient>(request => staffService.getAllPatients(request));
+  const reminderList = usePagedList<Reminder>(request =>
+    staffService.getAllReminders(request).then(res => ({
+      ...res,
+      // Map lại key cho đúng với ReminderManagement
+      data: (res.data || []).map((item: any) => ({
+        ...item,
+        type: item.reminderType,
+        dueDate: item.reminderDate ? item.reminderDate.slice(0, 10) : '',
+        dueTime: item.reminderDate ? item.reminderDate.slice(11, 16) : '',
+      })),
+    }))
+  );
+  const consultationList = usePagedList<OnlineConsultation>(request => staffService.getAllOnlineConsultations(request));
+  const { items: appointments, setItems: setAppointments } = appointmentList;
+  const { items: patients, setItems: setPatients } = patientList;
+  const { items: reminders, setItems: setReminders } = reminderList;
+  const { items: consultations, setItems: setConsultations } = consultationList;
   const [labBookings, setLabBookings] = useState<LabBooking[]>([]);
-  const [consultations, setConsultations] = useState<OnlineConsultation[]>([]);
 
   const { user } = useAuth();
 
@@ -60,21 +77,6 @@ const StaffPage: React.FC = () => {
     loadData();
   }, []);
 
-  useEffect(() => {
-    if (activeTab === 'reminders') {
-      staffService.getAllReminders().then(res => {
-        // Map lại key cho đúng với ReminderManagement
-        const mapped = (res.data || []).map((item: any) => ({
-          ...item,
-          type: item.reminderType,
-          dueDate: item.reminderDate ? item.reminderDate.slice(0, 10) : '',
-          dueTime: item.reminderDate ? item.reminderDate.slice(11, 16) : '',
-        }));
-        setReminders(mapped);
-      });
-    }
-  }, [activeTab]);
-
   const enrichLabBookingsWithPatientName = async (bookings: LabBooking[]) => {
     return Promise.all(bookings.map(async (booking) => {
       if ((!booking.patientName || booking.patientName === '' || booking.patientName === undefined) && booking.patientId) {
@@ -92,26 +94,10 @@ const StaffPage: React.FC = () => {
   const loadData = async () => {
     setLoading(true);
     try {
-      // Load appointments
-      const appointmentsResponse = await staffService.getAllAppointments();
-      setAppointments(appointmentsResponse.data || []);
-
-      // Load patients
-      const patientsResponse = await staffService.getAllPatients();
-      setPatients(patientsResponse.data || []);
-
-      // Load reminders
-      const remindersResponse = await staffService.getAllReminders();
-      setReminders(remindersResponse.data || []);
-
       // Load lab bookings
       const labBookingsResponse = await staffService.getAllLabBookings();
       const enrichedLabBookings = await enrichLabBookingsWithPatientName(labBookingsResponse.data || []);
       setLabBookings(enrichedLabBookings);
-
-      // Load consultations
-      const consultationsResponse = await staffService.getAllOnlineConsultations();
-      setConsultations(consultationsResponse.data || []);
     } catch (error) {
       console.error('Error loading data:', error);
       toast.error('Lỗi khi tải dữ liệu');
@@ -270,7 +256,7 @@ const StaffPage: React.FC = () => {
         patient: { id: data.patientId },
         createdBy: { id: user.id },
       });
-      await loadData(); // Reload reminders
+      reminderList.reload();
       toast.success('Tạo nhắc nhở thành công!');
     } catch (error) {
       toast.error('Lỗi khi tạo nhắc nhở');
@@ -427,35 +413,65 @@ const StaffPage: React.FC = () => {
 
         <div className="p-6">
           {activeTab === 'appointments' && (
-            <AppointmentManagement
-              appointments={appointments}
-              onUpdateAppointment={handleUpdateAppointment}
-              onDeleteAppointment={handleDeleteAppointment}
-              onConfirmAppointment={handleConfirmAppointment}
-              onCancelAppointment={handleCancelAppointment}
-            />
+            <>
+              <AppointmentManagement
+                appointments={appointments}
+                onUpdateAppointment={handleUpdateAppointment}
+                onDeleteAppointment={handleDeleteAppointment}
+                onConfirmAppointment={handleConfirmAppointment}
+                onCancelAppointment={handleCancelAppointment}
+              />
+              <Pager
+                pageNumber={appointmentList.pageNumber}
+                hasPrev={appointmentList.hasPrev}
+                hasNext={appointmentList.hasNext}
+                loading={appointmentList.loading}
+                onPrev={appointmentList.prev}
+                onNext={appointmentList.next}
+              />
+            </>
           )}
 
           {activeTab === 'patients' && (
-            <PatientManagement
-              patients={patients}
-              onUpdatePatient={handleUpdatePatient}
-              onDeletePatient={handleDeletePatient}
-              onCreatePatient={handleCreatePatient}
-              onViewPatientDetails={handleViewPatientDetails}
-            />
+            <>
+              <PatientManagement
+                patients={patients}
+                onUpdatePatient={handleUpdatePatient}
+                onDeletePatient={handleDeletePatient}
+                onCreatePatient={handleCreatePatient}
+                onViewPatientDetails={handleViewPatientDetails}
+              />
+              <Pager
+                pageNumber={patientList.pageNumber}
+                hasPrev={patientList.hasPrev}
+                hasNext={patientList.hasNext}
+                loading={patientList.loading}
+                onPrev={patientList.prev}
+                onNext={patientList.next}
+              />
+            </>
           )}
 
           {activeTab === 'reminders' && (
-            <ReminderManagement
-              reminders={reminders}
-              onSendReminder={handleSendReminder}
-              onCompleteReminder={handleCompleteReminder}
-              onUpdateReminder={handleUpdateReminder}
-              onDeleteReminder={handleDeleteReminder}
-              onCreateReminder={handleCreateReminder}
-              patients={patients}
-            />
+            <>
+              <ReminderManagement
+                reminders={reminders}
+                onSendReminder={handleSendReminder}
+                onCompleteReminder={handleCompleteReminder}
+                onUpdateReminder={handleUpdateReminder}
+                onDeleteReminder={handleDeleteReminder}
+                onCreateReminder={handleCreateReminder}
+                patients={patients}
+              />
+              <Pager
+                pageNumber={reminderList.pageNumber}
+                hasPrev={reminderList.hasPrev}
+                hasNext={reminderList.hasNext}
+                loading={reminderList.loading}
+                onPrev={reminderList.prev}
+                onNext={reminderList.next}
+              />
+            </>
           )}
 
           {activeTab === 'labBookings' && (
@@ -468,11 +484,21 @@ const StaffPage: React.FC = () => {
           )}
 
           {activeTab === 'consultations' && (
-            <ConsultationManagement
-              consultations={consultations}
-              onConfirmConsultation={handleConfirmConsultation}
-              onCancelConsultation={handleCancelConsultation}
-            />
+            <>
+              <ConsultationManagement
+                consultations={consultations}
+                onConfirmConsultation={handleConfirmConsultation}
+                onCancelConsultation={handleCancelConsultation}
+              />
+              <Pager
+                pageNumber={consultationList.pageNumber}
+                hasPrev={consultationList.hasPrev}
+                hasNext={consultationList.hasNext}
+                loading={consultationList.loading}
+                onPrev={consultationList.prev}
+                onNext={consultationList.next}
+              />
+            </>
           )}
         </div>
       </div>
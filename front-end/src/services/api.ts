@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { type AxiosResponse } from 'axios';
 import { format } from 'date-fns';
 
 const API_BASE_URL = 'http://localhost:8080/api';
@@ -48,6 +48,29 @@ api.interceptors.response.use(
     }
 );
 
+// Các API danh sách trả về từng trang: X-Has-Next cho phân trang theo số trang, X-Next-Cursor cho /scroll
+export const PAGE_SIZE = 20;
+
+export interface PageRequest {
+    page?: number;
+    cursor?: string;
+}
+
+const getPage = (url: string, params: Record<string, any> = {}, request: PageRequest = {}) =>
+    api.get(url, { params: { ...params, page: request.page, cursor: request.cursor, size: PAGE_SIZE } });
+
+// Yêu cầu cho trang kế tiếp, hoặc null khi đã ở trang cuối
+export const nextPageOf = (response: AxiosResponse, request: PageRequest): PageRequest | null => {
+    const cursor = response.headers['x-next-cursor'];
+    if (cursor) {
+        return { cursor };
+    }
+    if (response.headers['x-has-next'] === 'true') {
+        return { page: (request.page ?? 0) + 1 };
+    }
+    return null;
+};
+
 // Auth services
 export const authService = {
     login: async (credentials: { username: string; password: string }) => {
@@ -80,8 +103,8 @@ export const doctorService = {
 export const appointmentService = {
     createAppointment: (appointmentData: any) => 
         api.post('/appointments', appointmentData),
-    getAppointments: () => 
-        api.get('/appointments'),
+    getAppointments: (request?: PageRequest) => 
+        getPage('/appointments', {}, request),
     getAppointmentById: (id: number) => 
         api.get(`/appointments/${id}`),
     updateAppointment: (id: number, data: any) => 
@@ -102,8 +125,8 @@ export const patientService = {
 
 // Payment services
 export const paymentService = {
-    getAllPayments: () => 
-        api.get('/payments'),
+    getAllPayments: (patientId?: number, request?: PageRequest) => 
+        getPage('/payments/scroll', { patientId }, request),
     getPaymentById: (id: number) => 
         api.get(`/payments/${id}`),
     createPayment: (paymentData: any) => 
@@ -120,8 +143,8 @@ export const testService = {
         api.get('/labtesttypes'),
     bookTest: (testData: any) => 
         api.post('/lab-tests', testData),
-    getTestResults: () => 
-        api.get('/lab-results'),
+    getTestResults: (patientId: number, request?: PageRequest) => 
+        getPage('/lab-results/scroll', { patientId }, request),
     getLabTestTimeSlots: (date: Date) =>
         api.get('/lab-tests/time-slots', {
             params: { date: date.toISOString().split('T')[0] }
@@ -130,16 +153,16 @@ export const testService = {
         api.get(`/lab-tests/${id}`),
     updateLabBooking: (id: number|string, data: any) =>
         api.put(`/lab-tests/${id}`, data),
-    getLabBookingsByPatient: (patientId: number) =>
-        api.get(`/lab-tests/patient/${patientId}`),
+    getLabBookingsByPatient: (patientId: number, request?: PageRequest) =>
+        getPage(`/lab-tests/patient/${patientId}`, {}, request),
     updateLabBookingStatus: (id: number|string, status: string) =>
         api.patch(`/lab-tests/${id}/status`, { status }),
 };
 
 // Lab Result services
 export const labResultService = {
-    getAllLabResults: () => 
-        api.get('/lab-results'),
+    getAllLabResults: (patientId?: number, request?: PageRequest) => 
+        getPage('/lab-results/scroll', { patientId }, request),
     getLabResultById: (id: number) => 
         api.get(`/lab-results/${id}`),
     getLabResultsByPatient: (patientId: number) => 
@@ -169,8 +192,8 @@ export const medicalService = {
 };
 
 export const testResultService = {
-    getTestResults: () => 
-        api.get('/lab-results'),
+    getTestResults: (patientId: number, request?: PageRequest) => 
+        getPage('/lab-results/scroll', { patientId }, request),
 };
 
 export const testBookingService = {
@@ -199,10 +222,10 @@ export const consultationService = {
         api.put(`/online-consultations/${id}`, data),
     deleteOnlineConsultation: (id: number|string) =>
         api.delete(`/online-consultations/${id}`),
-    getConsultationsByPatient: (patientId: number) =>
-        api.get(`/online-consultations/patient/${patientId}`),
-    getConsultationsByDoctor: (doctorId: number) =>
-        api.get(`/online-consultations/doctor/${doctorId}`),
+    getConsultationsByPatient: (patientId: number, request?: PageRequest) =>
+        getPage(`/online-consultations/patient/${patientId}`, {}, request),
+    getConsultationsByDoctor: (doctorId: number, request?: PageRequest) =>
+        getPage(`/online-consultations/doctor/${doctorId}`, {}, request),
     updateOnlineConsultationStatus: (id: number|string, status: string) =>
         api.patch(`/online-consultations/${id}/status`, { status }),
 };
@@ -217,8 +240,8 @@ export const serviceService = {
 // Staff services
 export const staffService = {
     // Appointment management
-    getAllAppointments: () => 
-        api.get('/appointments'),
+    getAllAppointments: (request?: PageRequest) => 
+        getPage('/appointments', {}, request),
     getAppointmentById: (id: number) => 
         api.get(`/appointments/${id}`),
     updateAppointment: (id: number, data: any) => 
@@ -231,8 +254,8 @@ export const staffService = {
         api.put(`/appointments/${id}/cancel`),
 
     // Patient management
-    getAllPatients: () => 
-        api.get('/patients'),
+    getAllPatients: (request?: PageRequest) => 
+        getPage('/patients', {}, request),
     getPatientById: (id: number) => 
         api.get(`/patients/${id}`),
     updatePatient: (id: number, data: any) => 
@@ -241,16 +264,12 @@ export const staffService = {
         api.get(`/patients/${patientId}/medical-history`),
 
     // Reminder management
-    getAllReminders: () => 
-        api.get('/treatment-reminders'),
+    getAllReminders: (request?: PageRequest) => 
+        getPage('/treatment-reminders/scroll', {}, request),
     getReminderById: (id: number) => 
         api.get(`/treatment-reminders/${id}`),
-    getRemindersByPatient: (patientId: number, status?: string, reminderType?: string) => {
-        let url = `/treatment-reminders?patientId=${patientId}`;
-        if (status) url += `&status=${status}`;
-        if (reminderType) url += `&reminderType=${reminderType}`;
-        return api.get(url);
-    },
+    getRemindersByPatient: (patientId: number, status?: string, reminderType?: string, request?: PageRequest) =>
+        getPage('/treatment-reminders/scroll', { patientId, status, reminderType }, request),
     createReminder: (data: any) => 
         api.post('/treatment-reminders', data),
     updateReminder: (id: number, data: any) => 
@@ -285,8 +304,8 @@ export const staffService = {
         api.get('/treatment-reminders/stats'),
 
     // Online consultation management
-    getAllOnlineConsultations: () => 
-        api.get('/online-consultations'),
+    getAllOnlineConsultations: (request?: PageRequest) => 
+        getPage('/online-consultations', {}, request),
     updateOnlineConsultationStatus: (id: number|string, status: string) =>
         api.patch(`/online-consultations/${id}/status`, { status }),
 };
@@ -0,0 +1,86 @@
+package com.swr302.hivsystem.hivbackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_PRINCIPALS = "userPrincipals";
+
+    public static final String DOCTOR_AVAILABILITY = "doctorAvailability";
+
+    public static final String MEDICAL_SERVICES = "medicalServices";
+
+    public static final String CONSULTATION_TYPES = "consultationTypes";
+
+    public static final String LAB_TEST_TYPES = "labTestTypes";
+
+    public static final String DOCTOR_PROFILES = "doctorProfiles";
+
+    public static final String PATIENT_PROFILES = "patientProfiles";
+
+    public static final String CATALOG_RESPONSES = "catalogResponses";
+
+    @Value("${app.cache.user-principals.ttl-seconds:60}")
+    private long userPrincipalsTtlSeconds;
+
+    @Value("${app.cache.user-principals.max-size:10000}")
+    private long userPrincipalsMaxSize;
+
+    @Value("${app.cache.doctor-availability.ttl-seconds:300}")
+    private long doctorAvailabilityTtlSeconds;
+
+    @Value("${app.cache.doctor-availability.max-size:20000}")
+    private long doctorAvailabilityMaxSize;
+
+    // Dữ liệu danh mục (dịch vụ, loại tư vấn)
+    @Value("${app.cache.reference-data.ttl-seconds:600}")
+    private long referenceDataTtlSeconds;
+
+    @Value("${app.cache.reference-data.max-size:1000}")
+    private long referenceDataMaxSize;
+
+    // Hồ sơ bác sĩ/bệnh nhân theo userId cho các endpoint /me
+    @Value("${app.cache.profiles.ttl-seconds:300}")
+    private long profilesTtlSeconds;
+
+    @Value("${app.cache.profiles.max-size:10000}")
+    private long profilesMaxSize;
+
+    // Response JSON đã serialize của các endpoint danh mục công khai
+    @Value("${app.cache.responses.ttl-seconds:300}")
+    private long responsesTtlSeconds;
+
+    @Value("${app.cache.responses.max-size:2000}")
+    private long responsesMaxSize;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_PRINCIPALS, build(userPrincipalsTtlSeconds, userPrincipalsMaxSize));
+        cacheManager.registerCustomCache(DOCTOR_AVAILABILITY, build(doctorAvailabilityTtlSeconds, doctorAvailabilityMaxSize));
+        cacheManager.registerCustomCache(MEDICAL_SERVICES, build(referenceDataTtlSeconds, referenceDataMaxSize));
+        cacheManager.registerCustomCache(CONSULTATION_TYPES, build(referenceDataTtlSeconds, referenceDataMaxSize));
+        cacheManager.registerCustomCache(LAB_TEST_TYPES, build(referenceDataTtlSeconds, referenceDataMaxSize));
+        cacheManager.registerCustomCache(DOCTOR_PROFILES, build(profilesTtlSeconds, profilesMaxSize));
+        cacheManager.registerCustomCache(PATIENT_PROFILES, build(profilesTtlSeconds, profilesMaxSize));
+        cacheManager.registerCustomCache(CATALOG_RESPONSES, build(responsesTtlSeconds, responsesMaxSize));
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(long ttlSeconds, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+}
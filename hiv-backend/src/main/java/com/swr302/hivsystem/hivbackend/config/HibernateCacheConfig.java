@@ -0,0 +1,105 @@
+package com.swr302.hivsystem.hivbackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache for the reference/catalog entities,
+ * backed by Caffeine through JCache. Each entity has its own region with the
+ * configured TTL and size. The catalog repositories mark their list queries
+ * cacheable, so those lists are read from the query results region. Hit/miss
+ * counts per region are collected by Hibernate statistics (off unless
+ * app.cache.hibernate.statistics=true) and served by CacheStatsController.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String ARV_PROTOCOLS = "arvProtocols";
+
+    public static final String MEDICATIONS = "medications";
+
+    public static final String LAB_TEST_TYPES = "labTestTypes";
+
+    public static final String CONSULTATION_TYPES = "consultationTypes";
+
+    public static final String MEDICAL_SERVICES = "medicalServices";
+
+    public static final String ROLES = "roles";
+
+    public static final List<String> ENTITY_REGIONS = Collections.unmodifiableList(Arrays.asList(
+            ARV_PROTOCOLS, MEDICATIONS, LAB_TEST_TYPES, CONSULTATION_TYPES, MEDICAL_SERVICES, ROLES));
+
+    @Value("${app.cache.hibernate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.hibernate.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${app.cache.hibernate.max-size:5000}")
+    private long maxSize;
+
+    @Value("${app.cache.hibernate.query-results.max-size:1000}")
+    private long queryResultsMaxSize;
+
+    @Value("${app.cache.hibernate.statistics:false}")
+    private boolean statistics;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+            if (!enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, regionCacheManager());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Tạo sẵn các region để TTL/kích thước lấy từ cấu hình thay vì mặc định của Caffeine
+    private CacheManager regionCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            create(cacheManager, region, OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)), OptionalLong.of(maxSize));
+        }
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)), OptionalLong.of(queryResultsMaxSize));
+        // Bảng thời điểm cập nhật không được hết hạn, nếu không query cache có thể trả kết quả cũ
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    private static void create(CacheManager cacheManager, String name, OptionalLong expireAfterWriteNanos, OptionalLong maximumSize) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setExpireAfterWrite(expireAfterWriteNanos);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
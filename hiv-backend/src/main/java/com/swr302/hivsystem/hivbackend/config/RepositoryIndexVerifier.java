@@ -0,0 +1,178 @@
+package com.swr302.hivsystem.hivbackend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Startup check that every derived query method in the repository package can
+ * be served by an index: for each OR branch of the method name, at least one
+ * predicate column must be the leading column of an index that actually exists
+ * in the connected database. Methods without a supporting index are logged as
+ * warnings; @Query methods are not parsed and are covered by the migration
+ * scripts in db/migration instead.
+ */
+@Component
+public class RepositoryIndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryIndexVerifier.class);
+
+    // Điều kiện không seek được bằng index (LIKE '%x%', phủ định...)
+    private static final Set<Part.Type> NON_SEEKABLE = EnumSet.of(
+            Part.Type.CONTAINING, Part.Type.NOT_CONTAINING, Part.Type.ENDING_WITH, Part.Type.LIKE,
+            Part.Type.NOT_LIKE, Part.Type.NEGATING_SIMPLE_PROPERTY, Part.Type.NOT_IN, Part.Type.IS_NOT_NULL,
+            Part.Type.REGEX);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.schema.index-check.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> unsupported = findUnsupportedQueryMethods();
+            for (String method : unsupported) {
+                logger.warn("No index supports repository query {}", method);
+            }
+            logger.info("Repository index check finished: {} query method(s) without a supporting index", unsupported.size());
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Repository index check skipped: {}", e.getMessage());
+        }
+    }
+
+    List<String> findUnsupportedQueryMethods() throws SQLException {
+        Repositories repositories = new Repositories(applicationContext);
+        MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+        Map<String, Set<String>> leadingColumnsByTable = new HashMap<>();
+        List<String> unsupported = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> domainType : repositories) {
+                EntityPersister persister = metamodel.findEntityDescriptor(domainType);
+                if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+                    continue;
+                }
+                String table = entityPersister.getTableName();
+                Set<String> leadingColumns = leadingColumnsByTable.get(table);
+                if (leadingColumns == null) {
+                    leadingColumns = leadingIndexColumns(connection, metaData, table);
+                    leadingColumnsByTable.put(table, leadingColumns);
+                }
+
+                RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+                for (Method method : information.getQueryMethods()) {
+                    if (method.isAnnotationPresent(Query.class)) {
+                        continue;
+                    }
+                    PartTree tree;
+                    try {
+                        tree = new PartTree(method.getName(), domainType);
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                    for (PartTree.OrPart orPart : tree) {
+                        List<String> columns = new ArrayList<>();
+                        if (!isSupported(orPart, entityPersister, leadingColumns, columns)) {
+                            unsupported.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName()
+                                    + " on " + table + columns);
+                        }
+                    }
+                }
+            }
+        }
+        return unsupported;
+    }
+
+    // Nhánh OR được hỗ trợ khi có ít nhất một cột điều kiện là cột đầu của một index
+    private boolean isSupported(PartTree.OrPart orPart, AbstractEntityPersister persister,
+                                Set<String> leadingColumns, List<String> columns) {
+        boolean hasPredicate = false;
+        for (Part part : orPart) {
+            hasPredicate = true;
+            String column = columnOf(persister, part.getProperty());
+            if (column == null) {
+                continue;
+            }
+            columns.add(column);
+            if (!NON_SEEKABLE.contains(part.getType()) && leadingColumns.contains(column.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return !hasPredicate;
+    }
+
+    // Cột trên bảng gốc của thuộc tính đầu tiên trong đường dẫn (khóa ngoại với quan hệ)
+    private String columnOf(AbstractEntityPersister persister, PropertyPath path) {
+        String property = path.getSegment();
+        try {
+            String[] columns = property.equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()
+                    : persister.getPropertyColumnNames(property);
+            return columns.length > 0 ? columns[0] : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Set<String> leadingIndexColumns(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        // Tên bảng trong metadata có thể là chữ hoa (H2) hoặc giữ nguyên (SQL Server)
+        for (String name : new String[]{table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT)}) {
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, false, true)) {
+                while (rs.next()) {
+                    String column = rs.getString("COLUMN_NAME");
+                    if (column != null && rs.getShort("ORDINAL_POSITION") == 1) {
+                        columns.add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!columns.isEmpty()) {
+                break;
+            }
+        }
+        return columns;
+    }
+}
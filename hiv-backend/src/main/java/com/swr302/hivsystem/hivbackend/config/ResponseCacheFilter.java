@@ -0,0 +1,156 @@
+package com.swr302.hivsystem.hivbackend.config;
+
+import com.swr302.hivsystem.hivbackend.service.ResponseCacheService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves GET requests of the public catalog endpoints (doctors, medical
+ * services, lab test types, consultation types) from ResponseCacheService.
+ * Responses carry a strong ETag and Cache-Control, are sent gzipped when the
+ * client accepts it, and a matching If-None-Match gets 304 without a body.
+ * Only 200 JSON responses are stored; /me profiles are never cached.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    // 0 = trình duyệt luôn hỏi lại bằng If-None-Match
+    @Value("${app.response-cache.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || cachedPrefix(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String prefix = cachedPrefix(request);
+        String key = path(request) + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        ResponseCacheService.CachedResponse cached = responseCacheService.get(key);
+
+        if (cached == null) {
+            long generation = responseCacheService.generation(prefix);
+            Set<String> headersBefore = new HashSet<>(response.getHeaderNames());
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isJson(wrapper.getContentType())
+                    || wrapper.containsHeader(HttpHeaders.SET_COOKIE)) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            // Header do controller đặt (ví dụ X-Page, X-Has-Next) được lưu để trả lại khi dùng cache
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : wrapper.getHeaderNames()) {
+                if (!headersBefore.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                        && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, new ArrayList<>(wrapper.getHeaders(name)));
+                }
+            }
+            cached = responseCacheService.put(prefix, generation, key, wrapper.getContentAsByteArray(),
+                    wrapper.getContentType(), headers);
+        } else {
+            for (Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        write(request, response, cached);
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response,
+                       ResponseCacheService.CachedResponse cached) throws IOException {
+        boolean gzip = cached.getGzippedBody() != null && acceptsGzip(request);
+        response.setHeader(HttpHeaders.ETAG, gzip ? cached.getGzipEtag() : cached.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate().getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = gzip ? cached.getGzippedBody() : cached.getBody();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private String cachedPrefix(HttpServletRequest request) {
+        String path = path(request);
+        // Hồ sơ của người dùng đang đăng nhập, khác nhau theo từng người
+        if (path.endsWith("/me")) {
+            return null;
+        }
+        return responseCacheService.prefixOf(path);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    // If-None-Match so sánh yếu: bỏ tiền tố W/, "*" khớp mọi bản
+    private static boolean matches(String ifNoneMatch, ResponseCacheService.CachedResponse cached) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(cached.getEtag()) || candidate.equals(cached.getGzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,8 @@ package com.swr302.hivsystem.hivbackend.config;
 
 import com.swr302.hivsystem.hivbackend.security.JwtAuthenticationFilter;
 import com.swr302.hivsystem.hivbackend.service.CustomUserDetailsService;
+import com.swr302.hivsystem.hivbackend.util.KeysetCursor;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -104,6 +106,11 @@ public class SecurityConfig {
         config.addAllowedOrigin("http://localhost:5173"); // Cho phép frontend dev
         config.addAllowedHeader("*");
         config.addAllowedMethod("*");
+        // Cho phép frontend đọc thông tin phân trang
+        config.addExposedHeader(Pagination.PAGE_HEADER);
+        config.addExposedHeader(Pagination.PAGE_SIZE_HEADER);
+        config.addExposedHeader(Pagination.HAS_NEXT_HEADER);
+        config.addExposedHeader(KeysetCursor.NEXT_CURSOR_HEADER);
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
     }
@@ -0,0 +1,26 @@
+package com.swr302.hivsystem.hivbackend.config;
+
+import com.swr302.hivsystem.hivbackend.util.SingleFlight;
+import com.swr302.hivsystem.hivbackend.util.SingleFlightInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class SingleFlightConfig {
+
+    // Advisor hạ tầng để được áp dụng cùng proxy với @Transactional/@Cacheable, và nằm ngoài cùng
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor singleFlightAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(SingleFlight.class), new SingleFlightInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
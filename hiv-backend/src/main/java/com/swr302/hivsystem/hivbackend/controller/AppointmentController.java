@@ -1,15 +1,23 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
+import com.swr302.hivsystem.hivbackend.dto.AppointmentSummaryDTO;
 import com.swr302.hivsystem.hivbackend.model.Appointment;
 import com.swr302.hivsystem.hivbackend.model.Doctor;
 import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
 import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import com.swr302.hivsystem.hivbackend.repository.SummaryQueryExecutor;
+import com.swr302.hivsystem.hivbackend.service.AvailabilityService;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +34,31 @@ public class AppointmentController {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private SummaryQueryExecutor summaryQueryExecutor;
+
     @GetMapping
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    public ResponseEntity<List<AppointmentSummaryDTO>> getAllAppointments(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        // Tham số null = không lọc
+        Specification<Appointment> filter = FilterSpecifications.allOf(
+                FilterSpecifications.equal("patient.id", patientId),
+                FilterSpecifications.equal("doctor.id", doctorId),
+                FilterSpecifications.equalIgnoreCase("status", status),
+                FilterSpecifications.between("appointmentDate", from, to));
+        return Pagination.toResponse(summaryQueryExecutor.findSlice(Appointment.class, filter, AppointmentSummaryDTO.class,
+                AppointmentRepository::summaryColumns, Pagination.sorted(page, size, sort, direction)));
     }
 
     @GetMapping("/{id}")
@@ -49,7 +79,9 @@ public class AppointmentController {
         appointment.setPatient(patientOptional.get());
         appointment.setDoctor(doctorOptional.get());
 
-        return ResponseEntity.ok(appointmentRepository.save(appointment));
+        Appointment saved = appointmentRepository.save(appointment);
+        availabilityService.evict(saved.getDoctor().getId(), saved.getAppointmentDate());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -57,12 +89,16 @@ public class AppointmentController {
         Optional<Appointment> appointment = appointmentRepository.findById(id);
         if (appointment.isPresent()) {
             Appointment existingAppointment = appointment.get();
+            LocalDate previousDate = existingAppointment.getAppointmentDate();
             existingAppointment.setAppointmentDate(appointmentDetails.getAppointmentDate());
             existingAppointment.setAppointmentTime(appointmentDetails.getAppointmentTime());
             existingAppointment.setStatus(appointmentDetails.getStatus());
             existingAppointment.setNotes(appointmentDetails.getNotes());
 
-            return ResponseEntity.ok(appointmentRepository.save(existingAppointment));
+            Appointment saved = appointmentRepository.save(existingAppointment);
+            availabilityService.evict(saved.getDoctor().getId(), previousDate);
+            availabilityService.evict(saved.getDoctor().getId(), saved.getAppointmentDate());
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -70,8 +106,10 @@ public class AppointmentController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAppointment(@PathVariable Long id) {
-        if (appointmentRepository.existsById(id)) {
-            appointmentRepository.deleteById(id);
+        Optional<Appointment> appointment = appointmentRepository.findById(id);
+        if (appointment.isPresent()) {
+            appointmentRepository.delete(appointment.get());
+            availabilityService.evict(appointment.get().getDoctor().getId(), appointment.get().getAppointmentDate());
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -4,6 +4,7 @@ import com.swr302.hivsystem.hivbackend.model.Appointment;
 import com.swr302.hivsystem.hivbackend.model.AppointmentReminder;
 import com.swr302.hivsystem.hivbackend.repository.AppointmentReminderRepository;
 import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,8 +23,12 @@ public class AppointmentReminderController {
     private AppointmentRepository appointmentRepository;
 
     @GetMapping
-    public List<AppointmentReminder> getAllAppointmentReminders() {
-        return appointmentReminderRepository.findAll();
+    public ResponseEntity<List<AppointmentReminder>> getAllAppointmentReminders(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return Pagination.toResponse(appointmentReminderRepository.findAllBy(Pagination.sorted(page, size, sort, direction)));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,62 @@
+package com.swr302.hivsystem.hivbackend.controller;
+
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Thống kê hit/miss của Hibernate second-level cache và query cache
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        body.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        body.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        body.put("secondLevelCachePuts", statistics.getSecondLevelCachePutCount());
+        body.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        body.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        body.put("queryCachePuts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : HibernateCacheConfig.ENTITY_REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, toMap(regionStatistics));
+            }
+        }
+        CacheRegionStatistics queryResults = statistics.getQueryRegionStatistics(
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        if (queryResults != null) {
+            regions.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, toMap(queryResults));
+        }
+        body.put("regions", regions);
+        return body;
+    }
+
+    private static Map<String, Object> toMap(CacheRegionStatistics regionStatistics) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hits", regionStatistics.getHitCount());
+        map.put("misses", regionStatistics.getMissCount());
+        map.put("puts", regionStatistics.getPutCount());
+        return map;
+    }
+}
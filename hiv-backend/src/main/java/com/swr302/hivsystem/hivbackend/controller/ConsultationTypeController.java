@@ -2,6 +2,8 @@ package com.swr302.hivsystem.hivbackend.controller;
 
 import com.swr302.hivsystem.hivbackend.model.ConsultationType;
 import com.swr302.hivsystem.hivbackend.repository.ConsultationTypeRepository;
+import com.swr302.hivsystem.hivbackend.service.ReferenceDataService;
+import com.swr302.hivsystem.hivbackend.service.ResponseCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,12 @@ public class ConsultationTypeController {
     @Autowired
     private ConsultationTypeRepository consultationTypeRepository;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     @GetMapping
     public List<ConsultationType> getAllConsultationTypes() {
         return consultationTypeRepository.findAll();
@@ -29,7 +37,10 @@ public class ConsultationTypeController {
 
     @PostMapping
     public ConsultationType createConsultationType(@RequestBody ConsultationType consultationType) {
-        return consultationTypeRepository.save(consultationType);
+        ConsultationType saved = consultationTypeRepository.save(consultationType);
+        referenceDataService.evictConsultationTypes();
+        responseCacheService.evict(ResponseCacheService.CONSULTATION_TYPES);
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -39,7 +50,10 @@ public class ConsultationTypeController {
             ConsultationType existingConsultationType = consultationType.get();
             existingConsultationType.setName(consultationTypeDetails.getName());
             existingConsultationType.setDescription(consultationTypeDetails.getDescription());
-            return ResponseEntity.ok(consultationTypeRepository.save(existingConsultationType));
+            ConsultationType saved = consultationTypeRepository.save(existingConsultationType);
+            referenceDataService.evictConsultationTypes();
+            responseCacheService.evict(ResponseCacheService.CONSULTATION_TYPES);
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -49,6 +63,8 @@ public class ConsultationTypeController {
     public ResponseEntity<Void> deleteConsultationType(@PathVariable Long id) {
         if (consultationTypeRepository.existsById(id)) {
             consultationTypeRepository.deleteById(id);
+            referenceDataService.evictConsultationTypes();
+            responseCacheService.evict(ResponseCacheService.CONSULTATION_TYPES);
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -1,9 +1,9 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
 import com.swr302.hivsystem.hivbackend.dto.DoctorDTO;
-import com.swr302.hivsystem.hivbackend.model.Doctor;
-import com.swr302.hivsystem.hivbackend.model.User;
+import com.swr302.hivsystem.hivbackend.security.UserPrincipal;
 import com.swr302.hivsystem.hivbackend.service.DoctorService;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +24,15 @@ public class DoctorController {
         return ResponseEntity.ok(doctors);
     }
 
+    // Tìm theo tên hoặc mã bác sĩ, không phân biệt dấu, xếp hạng theo độ khớp
+    @GetMapping("/search")
+    public ResponseEntity<List<DoctorDTO>> searchDoctors(
+            @RequestParam("q") String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return Pagination.toResponse(doctorService.searchDoctors(keyword, Pagination.of(page, size)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DoctorDTO> getDoctorById(@PathVariable Long id) {
         DoctorDTO doctor = doctorService.getDoctorById(id);
@@ -49,12 +58,11 @@ public class DoctorController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<DoctorDTO> getCurrentDoctorProfile(@AuthenticationPrincipal User user) {
-        Doctor doctor = doctorService.getDoctorByUserId(user.getId());
-        if (doctor == null) {
+    public ResponseEntity<DoctorDTO> getCurrentDoctorProfile(@AuthenticationPrincipal UserPrincipal user) {
+        DoctorDTO doctorDTO = doctorService.getDoctorProfileByUserId(user.getId());
+        if (doctorDTO == null) {
             return ResponseEntity.notFound().build();
         }
-        DoctorDTO doctorDTO = doctorService.getDoctorById(doctor.getId());
         return ResponseEntity.ok(doctorDTO);
     }
 
@@ -4,6 +4,7 @@ import com.swr302.hivsystem.hivbackend.model.Doctor;
 import com.swr302.hivsystem.hivbackend.model.DoctorSchedule;
 import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
 import com.swr302.hivsystem.hivbackend.repository.DoctorScheduleRepository;
+import com.swr302.hivsystem.hivbackend.service.AvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,9 @@ public class DoctorScheduleController {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
     @GetMapping
     public List<DoctorSchedule> getAllDoctorSchedules() {
         return doctorScheduleRepository.findAll();
@@ -39,7 +43,9 @@ public class DoctorScheduleController {
             return ResponseEntity.badRequest().build();
         }
         doctorSchedule.setDoctor(doctorOptional.get());
-        return ResponseEntity.ok(doctorScheduleRepository.save(doctorSchedule));
+        DoctorSchedule saved = doctorScheduleRepository.save(doctorSchedule);
+        availabilityService.evictDoctor(saved.getDoctor().getId());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -52,7 +58,9 @@ public class DoctorScheduleController {
             existingDoctorSchedule.setEndTime(doctorScheduleDetails.getEndTime());
             existingDoctorSchedule.setLocation(doctorScheduleDetails.getLocation());
             existingDoctorSchedule.setNotes(doctorScheduleDetails.getNotes());
-            return ResponseEntity.ok(doctorScheduleRepository.save(existingDoctorSchedule));
+            DoctorSchedule saved = doctorScheduleRepository.save(existingDoctorSchedule);
+            availabilityService.evictDoctor(saved.getDoctor().getId());
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -60,8 +68,10 @@ public class DoctorScheduleController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDoctorSchedule(@PathVariable Long id) {
-        if (doctorScheduleRepository.existsById(id)) {
-            doctorScheduleRepository.deleteById(id);
+        Optional<DoctorSchedule> doctorSchedule = doctorScheduleRepository.findById(id);
+        if (doctorSchedule.isPresent()) {
+            doctorScheduleRepository.delete(doctorSchedule.get());
+            availabilityService.evictDoctor(doctorSchedule.get().getDoctor().getId());
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
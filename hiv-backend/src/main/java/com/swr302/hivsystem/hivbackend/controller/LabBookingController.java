@@ -1,15 +1,18 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
 import com.swr302.hivsystem.hivbackend.model.LabBooking;
+import com.swr302.hivsystem.hivbackend.model.LabTestType;
+import com.swr302.hivsystem.hivbackend.exception.LabSlotFullException;
 import com.swr302.hivsystem.hivbackend.service.LabBookingService;
-import com.swr302.hivsystem.hivbackend.repository.LabTestTypeRepository;
+import com.swr302.hivsystem.hivbackend.service.LabSlotCapacityService;
+import com.swr302.hivsystem.hivbackend.service.ReferenceDataService;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.HashMap;
 import java.util.ArrayList;
 
@@ -18,12 +21,15 @@ import java.util.ArrayList;
 public class LabBookingController {
 
     private final LabBookingService labBookingService;
-    private final LabTestTypeRepository labTestTypeRepository;
+    private final ReferenceDataService referenceDataService;
+    private final LabSlotCapacityService labSlotCapacityService;
 
     @Autowired
-    public LabBookingController(LabBookingService labBookingService, LabTestTypeRepository labTestTypeRepository) {
+    public LabBookingController(LabBookingService labBookingService, ReferenceDataService referenceDataService,
+                                LabSlotCapacityService labSlotCapacityService) {
         this.labBookingService = labBookingService;
-        this.labTestTypeRepository = labTestTypeRepository;
+        this.referenceDataService = referenceDataService;
+        this.labSlotCapacityService = labSlotCapacityService;
     }
 
     @GetMapping
@@ -35,13 +41,7 @@ public class LabBookingController {
         @GetMapping("/time-slots")
         public ResponseEntity<List<String>> getLabTestTimeSlots(@RequestParam(required = false) String date) {
             // Khung giờ tròn số: 07:00, 08:00, ..., 11:00, 13:00, ..., 16:00
-            List<String> timeSlots = new ArrayList<>();
-            for (int hour = 7; hour <= 11; hour++) {
-                timeSlots.add(String.format("%02d:00", hour));
-            }
-            for (int hour = 13; hour <= 16; hour++) {
-                timeSlots.add(String.format("%02d:00", hour));
-            }
+            List<String> timeSlots = new ArrayList<>(LabSlotCapacityService.SLOT_TIMES);
             
             // Nếu truyền ngày là chủ nhật thì trả về rỗng
             if (date != null) {
@@ -53,6 +53,12 @@ public class LabBookingController {
             return ResponseEntity.ok(timeSlots);
         }
 
+    // Số chỗ còn lại của từng khung giờ trong ngày
+    @GetMapping("/time-slots/availability")
+    public List<LabSlotCapacityService.SlotAvailability> getLabTestSlotAvailability(@RequestParam String date) {
+        return labSlotCapacityService.getDayAvailability(java.time.LocalDate.parse(date));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LabBooking> getLabBookingById(@PathVariable Long id) {
         return labBookingService.getLabBookingById(id)
@@ -70,6 +76,8 @@ public class LabBookingController {
         try {
             LabBooking updatedLabBooking = labBookingService.updateLabBooking(id, labBookingDetails);
             return ResponseEntity.ok(updatedLabBooking);
+        } catch (LabSlotFullException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -86,25 +94,25 @@ public class LabBookingController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public List<Map<String, Object>> getLabBookingsByPatient(@PathVariable Long patientId) {
-        return labBookingService.getAllLabBookings()
-            .stream()
-            .filter(labBooking -> labBooking.getPatientId().equals(patientId))
+    public ResponseEntity<List<Map<String, Object>>> getLabBookingsByPatient(
+            @PathVariable Long patientId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size) {
+        // Một truy vấn cho mỗi trang; tên loại xét nghiệm lấy từ danh mục đã cache
+        Map<Long, LabTestType> testTypes = referenceDataService.getLabTestTypeCatalog();
+        return Pagination.toResponse(labBookingService.getLabBookingsByPatient(patientId, Pagination.of(page, size))
             .map(labBooking -> {
                 Map<String, Object> map = new HashMap<>();
                 map.put("id", labBooking.getId());
-                // Lấy tên loại xét nghiệm từ testTypeId
-                String testTypeName = labTestTypeRepository.findById(labBooking.getTestTypeId())
-                    .map(t -> t.getName()).orElse("");
-                map.put("testTypeName", testTypeName);
+                LabTestType testType = testTypes.get(labBooking.getTestTypeId());
+                map.put("testTypeName", testType != null ? testType.getName() : "");
                 map.put("date", labBooking.getDate());
                 map.put("timeSlot", labBooking.getTimeSlotId());
                 map.put("status", labBooking.getStatus());
                 map.put("doctorName", "");
                 map.put("notes", labBooking.getNotes());
                 return map;
-            })
-            .collect(Collectors.toList());
+            }));
     }
 
     @PatchMapping("/{id}/status")
@@ -117,6 +125,8 @@ public class LabBookingController {
             
             LabBooking updatedLabBooking = labBookingService.updateLabBookingStatus(id, status);
             return ResponseEntity.ok(updatedLabBooking);
+        } catch (LabSlotFullException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
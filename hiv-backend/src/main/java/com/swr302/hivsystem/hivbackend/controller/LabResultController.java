@@ -1,12 +1,19 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
+import com.swr302.hivsystem.hivbackend.dto.LabResultSummaryDTO;
 import com.swr302.hivsystem.hivbackend.model.LabResult;
 import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.model.User;
 import com.swr302.hivsystem.hivbackend.repository.LabResultRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import com.swr302.hivsystem.hivbackend.repository.SummaryQueryExecutor;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.KeysetCursor;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,9 +34,39 @@ public class LabResultController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SummaryQueryExecutor summaryQueryExecutor;
+
     @GetMapping
-    public List<LabResult> getAllLabResults() {
-        return labResultRepository.findAll();
+    public ResponseEntity<List<LabResultSummaryDTO>> getAllLabResults(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return Pagination.toResponse(summaryQueryExecutor.findSlice(LabResult.class, filter(patientId),
+                LabResultSummaryDTO.class, LabResultRepository::summaryColumns, Pagination.sorted(page, size, sort, direction)));
+    }
+
+    // Cuộn theo (createdAt, id); trang kế lấy bằng cursor trong header X-Next-Cursor
+    @GetMapping("/scroll")
+    public ResponseEntity<List<LabResultSummaryDTO>> scrollLabResults(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String direction) {
+        Specification<LabResult> filter = filter(patientId);
+        Sort.Direction dir = KeysetCursor.direction(cursor, direction);
+        return KeysetCursor.toResponse(labResultRepository.findBy(filter,
+                        q -> q.sortBy(KeysetCursor.sort("createdAt", dir)).limit(KeysetCursor.limit(size))
+                                .scroll(KeysetCursor.position(cursor, "createdAt"))),
+                dir, LabResult::getCreatedAt, LabResult::getId, LabResultSummaryDTO::fromEntity);
+    }
+
+    // Bộ lọc dùng chung cho danh sách và /scroll; tham số null = không lọc
+    private static Specification<LabResult> filter(Long patientId) {
+        return FilterSpecifications.allOf(
+                FilterSpecifications.equal("patient.id", patientId));
     }
 
     @GetMapping("/{id}")
@@ -39,8 +76,9 @@ public class LabResultController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public List<LabResult> getLabResultsByPatient(@PathVariable Long patientId) {
-        return labResultRepository.findByPatientId(patientId);
+    public List<LabResultSummaryDTO> getLabResultsByPatient(@PathVariable Long patientId) {
+        return summaryQueryExecutor.findAll(LabResult.class, filter(patientId), LabResultSummaryDTO.class,
+                LabResultRepository::summaryColumns, Sort.by(Sort.Direction.DESC, "testDate", "id"));
     }
 
     @PostMapping
@@ -2,6 +2,7 @@ package com.swr302.hivsystem.hivbackend.controller;
 
 import com.swr302.hivsystem.hivbackend.model.LabTestType;
 import com.swr302.hivsystem.hivbackend.service.LabTestTypeService;
+import com.swr302.hivsystem.hivbackend.service.ResponseCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,10 +14,12 @@ import java.util.List;
 public class LabTestTypeController {
 
     private final LabTestTypeService labTestTypeService;
+    private final ResponseCacheService responseCacheService;
 
     @Autowired
-    public LabTestTypeController(LabTestTypeService labTestTypeService) {
+    public LabTestTypeController(LabTestTypeService labTestTypeService, ResponseCacheService responseCacheService) {
         this.labTestTypeService = labTestTypeService;
+        this.responseCacheService = responseCacheService;
     }
 
     @GetMapping
@@ -33,13 +36,16 @@ public class LabTestTypeController {
 
     @PostMapping
     public LabTestType createLabTestType(@RequestBody LabTestType labTestType) {
-        return labTestTypeService.createLabTestType(labTestType);
+        LabTestType saved = labTestTypeService.createLabTestType(labTestType);
+        responseCacheService.evict(ResponseCacheService.LAB_TEST_TYPES);
+        return saved;
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<LabTestType> updateLabTestType(@PathVariable Long id, @RequestBody LabTestType labTestTypeDetails) {
         try {
             LabTestType updatedLabTestType = labTestTypeService.updateLabTestType(id, labTestTypeDetails);
+            responseCacheService.evict(ResponseCacheService.LAB_TEST_TYPES);
             return ResponseEntity.ok(updatedLabTestType);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -50,6 +56,7 @@ public class LabTestTypeController {
     public ResponseEntity<Void> deleteLabTestType(@PathVariable Long id) {
         try {
             labTestTypeService.deleteLabTestType(id);
+            responseCacheService.evict(ResponseCacheService.LAB_TEST_TYPES);
             return ResponseEntity.noContent().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -4,6 +4,7 @@ import com.swr302.hivsystem.hivbackend.model.MedicalRecord;
 import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.repository.MedicalRecordRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,8 +23,10 @@ public class MedicalRecordController {
     private PatientRepository patientRepository;
 
     @GetMapping
-    public List<MedicalRecord> getAllMedicalRecords() {
-        return medicalRecordRepository.findAll();
+    public ResponseEntity<List<MedicalRecord>> getAllMedicalRecords(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size) {
+        return Pagination.toResponse(medicalRecordRepository.findAllBy(Pagination.sorted(page, size, "id", "desc")));
     }
 
     @GetMapping("/{id}")
@@ -2,6 +2,8 @@ package com.swr302.hivsystem.hivbackend.controller;
 
 import com.swr302.hivsystem.hivbackend.model.MedicalService;
 import com.swr302.hivsystem.hivbackend.repository.MedicalServiceRepository;
+import com.swr302.hivsystem.hivbackend.service.ReferenceDataService;
+import com.swr302.hivsystem.hivbackend.service.ResponseCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,12 @@ public class MedicalServiceController {
     @Autowired
     private MedicalServiceRepository medicalServiceRepository;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     @GetMapping
     public List<MedicalService> getAllMedicalServices() {
         return medicalServiceRepository.findAll();
@@ -29,7 +37,10 @@ public class MedicalServiceController {
 
     @PostMapping
     public MedicalService createMedicalService(@RequestBody MedicalService medicalService) {
-        return medicalServiceRepository.save(medicalService);
+        MedicalService saved = medicalServiceRepository.save(medicalService);
+        referenceDataService.evictMedicalServices();
+        responseCacheService.evict(ResponseCacheService.MEDICAL_SERVICES);
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -41,7 +52,10 @@ public class MedicalServiceController {
             existingMedicalService.setDescription(medicalServiceDetails.getDescription());
             existingMedicalService.setDefaultDuration(medicalServiceDetails.getDefaultDuration());
             existingMedicalService.setPrice(medicalServiceDetails.getPrice());
-            return ResponseEntity.ok(medicalServiceRepository.save(existingMedicalService));
+            MedicalService saved = medicalServiceRepository.save(existingMedicalService);
+            referenceDataService.evictMedicalServices();
+            responseCacheService.evict(ResponseCacheService.MEDICAL_SERVICES);
+            return ResponseEntity.ok(saved);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -51,6 +65,8 @@ public class MedicalServiceController {
     public ResponseEntity<Void> deleteMedicalService(@PathVariable Long id) {
         if (medicalServiceRepository.existsById(id)) {
             medicalServiceRepository.deleteById(id);
+            referenceDataService.evictMedicalServices();
+            responseCacheService.evict(ResponseCacheService.MEDICAL_SERVICES);
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -4,7 +4,13 @@ import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
 import com.swr302.hivsystem.hivbackend.model.Prescription;
 import com.swr302.hivsystem.hivbackend.repository.MedicationScheduleRepository;
 import com.swr302.hivsystem.hivbackend.repository.PrescriptionRepository;
+import com.swr302.hivsystem.hivbackend.service.MedicationScheduleService;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.KeysetCursor;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.swr302.hivsystem.hivbackend.dto.MedicationScheduleDTO;
@@ -25,9 +31,40 @@ public class MedicationScheduleController {
     @Autowired
     private PrescriptionRepository prescriptionRepository;
 
+    @Autowired
+    private MedicationScheduleService medicationScheduleService;
+
     @GetMapping
-    public List<MedicationScheduleDTO> getAllMedicationSchedules() {
-        return medicationScheduleRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+    public ResponseEntity<List<MedicationScheduleDTO>> getAllMedicationSchedules(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        Specification<MedicationSchedule> filter = FilterSpecifications.allOf(
+                FilterSpecifications.equal("prescription.treatmentPlan.patient.id", patientId),
+                FilterSpecifications.equalIgnoreCase("status", status));
+        return Pagination.toResponse(medicationScheduleRepository.findBy(filter,
+                q -> q.slice(Pagination.sorted(page, size, sort, direction))).map(this::toDTO));
+    }
+
+    // Cuộn lịch sử uống thuốc theo (intakeTime, id); trang kế lấy bằng cursor trong header X-Next-Cursor
+    @GetMapping("/scroll")
+    public ResponseEntity<List<MedicationScheduleDTO>> scrollMedicationSchedules(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String direction) {
+        Specification<MedicationSchedule> filter = FilterSpecifications.allOf(
+                FilterSpecifications.equal("prescription.treatmentPlan.patient.id", patientId),
+                FilterSpecifications.equalIgnoreCase("status", status));
+        Sort.Direction dir = KeysetCursor.direction(cursor, direction);
+        return KeysetCursor.toResponse(medicationScheduleRepository.findBy(filter,
+                        q -> q.sortBy(KeysetCursor.sort("intakeTime", dir)).limit(KeysetCursor.limit(size))
+                                .scroll(KeysetCursor.position(cursor, "intakeTime"))),
+                dir, MedicationSchedule::getIntakeTime, MedicationSchedule::getId, this::toDTO);
     }
 
     @GetMapping("/{id}")
@@ -70,9 +107,15 @@ public class MedicationScheduleController {
     }
 
     @GetMapping("/patient/{patientId}")
-    public List<MedicationScheduleDTO> getMedicationSchedulesByPatient(@PathVariable Long patientId) {
-        return medicationScheduleRepository.findByPrescription_TreatmentPlan_Patient_Id(patientId)
+    public List<MedicationScheduleDTO> getMedicationSchedulesByPatient(@PathVariable Long patientId,
+                                                                      @RequestParam(defaultValue = "true") boolean includeVirtual) {
+        List<MedicationScheduleDTO> schedules = medicationScheduleRepository.findByPrescription_TreatmentPlan_Patient_Id(patientId)
                 .stream().map(this::toDTO).collect(Collectors.toList());
+        // Thêm các liều tương lai chưa được ghi xuống DB (chế độ rolling window)
+        if (includeVirtual) {
+            schedules.addAll(medicationScheduleService.getVirtualSchedules(patientId));
+        }
+        return schedules;
     }
 
     private MedicationScheduleDTO toDTO(MedicationSchedule schedule) {
@@ -5,7 +5,11 @@ import com.swr302.hivsystem.hivbackend.model.User;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
 import com.swr302.hivsystem.hivbackend.service.PatientService;
+import com.swr302.hivsystem.hivbackend.service.SearchIndexService;
 import com.swr302.hivsystem.hivbackend.dto.PatientDTO;
+import com.swr302.hivsystem.hivbackend.exception.ResourceNotFoundException;
+import com.swr302.hivsystem.hivbackend.security.UserPrincipal;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,20 +35,23 @@ public class PatientController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     @GetMapping("/me")
-    public ResponseEntity<PatientDTO> getCurrentPatientProfile(@AuthenticationPrincipal User user) {
+    public ResponseEntity<PatientDTO> getCurrentPatientProfile(@AuthenticationPrincipal UserPrincipal principal) {
         try {
-            logger.info("Getting patient profile for user ID: {}", user.getId());
-            Optional<Patient> patientOptional = patientRepository.findByUser_Id(user.getId());
-
-            if (patientOptional.isPresent()) {
-                logger.info("Found patient profile: {}", patientOptional.get().getId());
-                Patient patient = patientOptional.get();
-                // Convert Patient entity to PatientDTO
-                PatientDTO patientDTO = patientService.getPatientById(patient.getId());
+            logger.info("Getting patient profile for user ID: {}", principal.getId());
+            // Hồ sơ được cache theo userId nên lần gọi lặp lại không chạm DB
+            PatientDTO patientDTO = patientService.getPatientProfileByUserId(principal.getId());
+
+            if (patientDTO != null) {
+                logger.info("Found patient profile: {}", patientDTO.getId());
                 return ResponseEntity.ok(patientDTO);
             } else {
-                logger.info("No patient profile found for user ID: {}, creating new profile", user.getId());
+                logger.info("No patient profile found for user ID: {}, creating new profile", principal.getId());
+                User user = userRepository.findById(principal.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
                 // Create a new patient profile
                 Patient newPatient = new Patient();
                 newPatient.setUser(user);
@@ -62,6 +69,7 @@ public class PatientController {
                 newPatient.setGender("other"); // Initialize with a default gender
                 newPatient.setAddress(""); // Initialize with empty string
                 Patient savedPatient = patientRepository.save(newPatient);
+                searchIndexService.indexPatient(savedPatient);
                 
                 // Convert the newly created Patient entity to PatientDTO
                 PatientDTO savedPatientDTO = patientService.getPatientById(savedPatient.getId());
@@ -69,7 +77,7 @@ public class PatientController {
                 return ResponseEntity.ok(savedPatientDTO);
             }
         } catch (Exception e) {
-            logger.error("Error getting patient profile for user ID: " + user.getId(), e);
+            logger.error("Error getting patient profile for user ID: " + principal.getId(), e);
             throw e;
         }
     }
@@ -78,12 +86,10 @@ public class PatientController {
     public ResponseEntity<PatientDTO> getPatientByUserId(@PathVariable Long userId) {
         try {
             logger.info("Getting patient profile for user ID: {}", userId);
-            Optional<Patient> patientOptional = patientRepository.findByUser_Id(userId);
-            
-            if (patientOptional.isPresent()) {
-                Patient patient = patientOptional.get();
-                PatientDTO patientDTO = patientService.getPatientById(patient.getId());
-                logger.info("Found patient profile: {} for user ID: {}", patient.getId(), userId);
+            PatientDTO patientDTO = patientService.getPatientProfileByUserId(userId);
+
+            if (patientDTO != null) {
+                logger.info("Found patient profile: {} for user ID: {}", patientDTO.getId(), userId);
                 return ResponseEntity.ok(patientDTO);
             } else {
                 logger.info("No patient profile found for user ID: {}", userId);
@@ -102,8 +108,21 @@ public class PatientController {
     }
 
     @GetMapping
-    public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+    public ResponseEntity<List<Patient>> getAllPatients(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return Pagination.toResponse(patientRepository.findAllBy(Pagination.sorted(page, size, sort, direction)));
+    }
+
+    // Tìm theo tên hoặc mã bệnh nhân, không phân biệt dấu, xếp hạng theo độ khớp
+    @GetMapping("/search")
+    public ResponseEntity<List<PatientDTO>> searchPatients(
+            @RequestParam("q") String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return Pagination.toResponse(patientService.searchPatients(keyword, Pagination.of(page, size)));
     }
 
     @PostMapping
@@ -113,7 +132,9 @@ public class PatientController {
             return ResponseEntity.badRequest().build();
         }
         patient.setUser(userOptional.get());
-        return ResponseEntity.ok(patientRepository.save(patient));
+        Patient savedPatient = patientRepository.save(patient);
+        searchIndexService.indexPatient(savedPatient);
+        return ResponseEntity.ok(savedPatient);
     }
 
     @PutMapping("/{id}")
@@ -132,7 +153,7 @@ public class PatientController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePatient(@PathVariable Long id) {
         if (patientRepository.existsById(id)) {
-            patientRepository.deleteById(id);
+            patientService.deletePatient(id);
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
@@ -1,5 +1,6 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
+import com.swr302.hivsystem.hivbackend.dto.TreatmentPlanSummaryDTO;
 import com.swr302.hivsystem.hivbackend.model.ArvProtocol;
 import com.swr302.hivsystem.hivbackend.model.Doctor;
 import com.swr302.hivsystem.hivbackend.model.Patient;
@@ -8,7 +9,11 @@ import com.swr302.hivsystem.hivbackend.repository.ArvProtocolRepository;
 import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientTreatmentPlanRepository;
+import com.swr302.hivsystem.hivbackend.repository.SummaryQueryExecutor;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,18 +36,24 @@ public class PatientTreatmentPlanController {
     @Autowired
     private ArvProtocolRepository arvProtocolRepository;
 
+    @Autowired
+    private SummaryQueryExecutor summaryQueryExecutor;
+
     @GetMapping
-    public List<PatientTreatmentPlan> getAllPatientTreatmentPlans(
+    public ResponseEntity<List<TreatmentPlanSummaryDTO>> getAllPatientTreatmentPlans(
             @RequestParam(required = false) Long doctorId,
-            @RequestParam(required = false) Long patientId) {
-        if (doctorId != null && patientId != null) {
-            return patientTreatmentPlanRepository.findByDoctorIdAndPatientId(doctorId, patientId);
-        } else if (doctorId != null) {
-            return patientTreatmentPlanRepository.findByDoctorId(doctorId);
-        } else if (patientId != null) {
-            return patientTreatmentPlanRepository.findByPatientId(patientId);
-        }
-        return patientTreatmentPlanRepository.findAll();
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        // Tham số null = không lọc
+        Specification<PatientTreatmentPlan> filter = FilterSpecifications.allOf(
+                FilterSpecifications.equal("doctor.id", doctorId),
+                FilterSpecifications.equal("patient.id", patientId));
+        return Pagination.toResponse(summaryQueryExecutor.findSlice(PatientTreatmentPlan.class, filter,
+                TreatmentPlanSummaryDTO.class, PatientTreatmentPlanRepository::summaryColumns,
+                Pagination.sorted(page, size, sort, direction)));
     }
 
     @GetMapping("/{id}")
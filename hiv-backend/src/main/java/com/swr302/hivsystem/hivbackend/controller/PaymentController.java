@@ -1,5 +1,6 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
+import com.swr302.hivsystem.hivbackend.dto.PaymentSummaryDTO;
 import com.swr302.hivsystem.hivbackend.model.LabBooking;
 import com.swr302.hivsystem.hivbackend.model.OnlineConsultation;
 import com.swr302.hivsystem.hivbackend.model.Patient;
@@ -8,7 +9,13 @@ import com.swr302.hivsystem.hivbackend.repository.LabBookingRepository;
 import com.swr302.hivsystem.hivbackend.repository.OnlineConsultationRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
 import com.swr302.hivsystem.hivbackend.repository.PaymentRepository;
+import com.swr302.hivsystem.hivbackend.repository.SummaryQueryExecutor;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.KeysetCursor;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,9 +38,42 @@ public class PaymentController {
     @Autowired
     private LabBookingRepository labBookingRepository;
 
+    @Autowired
+    private SummaryQueryExecutor summaryQueryExecutor;
+
     @GetMapping
-    public List<Payment> getAllPayments() {
-        return paymentRepository.findAll();
+    public ResponseEntity<List<PaymentSummaryDTO>> getAllPayments(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return Pagination.toResponse(summaryQueryExecutor.findSlice(Payment.class, filter(patientId, status),
+                PaymentSummaryDTO.class, PaymentRepository::summaryColumns, Pagination.sorted(page, size, sort, direction)));
+    }
+
+    // Cuộn theo (createdAt, id); trang kế lấy bằng cursor trong header X-Next-Cursor
+    @GetMapping("/scroll")
+    public ResponseEntity<List<PaymentSummaryDTO>> scrollPayments(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String direction) {
+        Specification<Payment> filter = filter(patientId, status);
+        Sort.Direction dir = KeysetCursor.direction(cursor, direction);
+        return KeysetCursor.toResponse(paymentRepository.findBy(filter,
+                        q -> q.sortBy(KeysetCursor.sort("createdAt", dir)).limit(KeysetCursor.limit(size))
+                                .scroll(KeysetCursor.position(cursor, "createdAt"))),
+                dir, Payment::getCreatedAt, Payment::getId, PaymentSummaryDTO::fromEntity);
+    }
+
+    // Bộ lọc dùng chung cho danh sách và /scroll; tham số null = không lọc
+    private static Specification<Payment> filter(Long patientId, String status) {
+        return FilterSpecifications.allOf(
+                FilterSpecifications.equal("patient.id", patientId),
+                FilterSpecifications.equalIgnoreCase("status", status));
     }
 
     @GetMapping("/{id}")
@@ -3,20 +3,23 @@ package com.swr302.hivsystem.hivbackend.controller;
 import com.swr302.hivsystem.hivbackend.model.Medication;
 import com.swr302.hivsystem.hivbackend.model.PatientTreatmentPlan;
 import com.swr302.hivsystem.hivbackend.model.Prescription;
-import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
 import com.swr302.hivsystem.hivbackend.repository.MedicationRepository;
 import com.swr302.hivsystem.hivbackend.repository.PatientTreatmentPlanRepository;
 import com.swr302.hivsystem.hivbackend.repository.PrescriptionRepository;
-import com.swr302.hivsystem.hivbackend.repository.MedicationScheduleRepository;
+import com.swr302.hivsystem.hivbackend.service.MedicationScheduleService;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Function;
 import com.swr302.hivsystem.hivbackend.dto.PrescriptionRequestDTO;
 import com.swr302.hivsystem.hivbackend.dto.PrescriptionDetailDTO;
 import com.swr302.hivsystem.hivbackend.model.PrescriptionDetail;
@@ -37,11 +40,20 @@ public class PrescriptionController {
     private MedicationRepository medicationRepository;
 
     @Autowired
-    private MedicationScheduleRepository medicationScheduleRepository;
+    private MedicationScheduleService medicationScheduleService;
 
     @GetMapping
-    public List<Prescription> getAllPrescriptions() {
-        return prescriptionRepository.findAll();
+    public ResponseEntity<List<Prescription>> getAllPrescriptions(
+            @RequestParam(required = false) Long treatmentPlanId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        Specification<Prescription> filter = FilterSpecifications.allOf(
+                FilterSpecifications.equal("treatmentPlan.id", treatmentPlanId));
+        return Pagination.toResponse(prescriptionRepository.findBy(filter,
+                q -> q.project("treatmentPlan.patient", "treatmentPlan.doctor", "treatmentPlan.arvProtocol")
+                        .slice(Pagination.sorted(page, size, sort, direction))));
     }
 
     @GetMapping("/{id}")
@@ -51,6 +63,7 @@ public class PrescriptionController {
     }
 
     @PostMapping
+    @Transactional
     public ResponseEntity<Prescription> createPrescription(@RequestBody PrescriptionRequestDTO dto) {
         Optional<PatientTreatmentPlan> treatmentPlanOpt = patientTreatmentPlanRepository.findById(dto.getTreatmentPlanId());
         if (treatmentPlanOpt.isEmpty()) {
@@ -61,53 +74,32 @@ public class PrescriptionController {
         prescription.setTreatmentPlan(treatmentPlanOpt.get());
         prescription.setNotes(dto.getNotes());
 
+        // Lấy tất cả thuốc trong đơn bằng một truy vấn
+        List<Long> medicationIds = dto.getDetails().stream()
+                .map(PrescriptionDetailDTO::getMedicationId)
+                .collect(Collectors.toList());
+        Map<Long, Medication> medications = medicationRepository.findAllById(medicationIds).stream()
+                .collect(Collectors.toMap(Medication::getId, Function.identity()));
+
         List<PrescriptionDetail> details = new ArrayList<>();
-        List<MedicationSchedule> schedules = new ArrayList<>();
-        LocalDate startDate = treatmentPlanOpt.get().getStartDate();
         for (PrescriptionDetailDTO d : dto.getDetails()) {
-            Optional<Medication> medicationOpt = medicationRepository.findById(d.getMedicationId());
-            if (medicationOpt.isEmpty()) continue;
+            Medication medication = medications.get(d.getMedicationId());
+            if (medication == null) continue;
             PrescriptionDetail detail = new PrescriptionDetail();
             detail.setPrescription(prescription);
-            detail.setMedication(medicationOpt.get());
+            detail.setMedication(medication);
             detail.setDosage(d.getDosage());
             detail.setFrequency(d.getFrequency());
             detail.setDurationDays(d.getDurationDays());
             detail.setNotes(d.getNotes());
             details.add(detail);
-
-            // Sinh lịch uống thuốc cho detail này
-            if (d.getFrequency() != null && d.getDurationDays() != null && d.getDurationDays() > 0) {
-                String[] times = d.getFrequency().split(",");
-                for (int day = 0; day < d.getDurationDays(); day++) {
-                    for (String timeStr : times) {
-                        timeStr = timeStr.trim();
-                        if (timeStr.isEmpty()) continue;
-                        try {
-                            String[] hm = timeStr.split(":");
-                            int hour = Integer.parseInt(hm[0]);
-                            int minute = Integer.parseInt(hm[1]);
-                            LocalDateTime intakeTime = startDate.plusDays(day).atTime(hour, minute);
-                            MedicationSchedule schedule = new MedicationSchedule();
-                            schedule.setPrescription(prescription);
-                            schedule.setIntakeTime(intakeTime);
-                            schedule.setStatus("Pending");
-                            schedules.add(schedule);
-                        } catch (Exception e) {
-                            // Bỏ qua nếu sai định dạng giờ
-                        }
-                    }
-                }
-            }
         }
         prescription.setDetails(details);
 
         Prescription saved = prescriptionRepository.save(prescription);
-        // Lưu lịch uống thuốc
-        for (MedicationSchedule schedule : schedules) {
-            schedule.setPrescription(saved);
-            medicationScheduleRepository.save(schedule);
-        }
+
+        // Sinh lịch uống thuốc (toàn bộ hoặc theo cửa sổ rolling) và ghi theo lô
+        medicationScheduleService.materialize(saved, treatmentPlanOpt.get().getStartDate());
         return ResponseEntity.ok(saved);
     }
 
@@ -1,71 +1,84 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
-import com.swr302.hivsystem.hivbackend.model.DoctorSchedule;
-import com.swr302.hivsystem.hivbackend.model.Appointment;
-import com.swr302.hivsystem.hivbackend.repository.DoctorScheduleRepository;
-import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
+import com.swr302.hivsystem.hivbackend.service.AvailabilityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/time-slots")
 public class TimeSlotController {
 
-    @Autowired
-    private DoctorScheduleRepository doctorScheduleRepository;
+    // Giới hạn của API theo khoảng ngày
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int MAX_RANGE_DOCTORS = 50;
 
     @Autowired
-    private AppointmentRepository appointmentRepository;
+    private AvailabilityService availabilityService;
 
     @GetMapping
     public ResponseEntity<List<TimeSlotDTO>> getAvailableTimeSlots(
             @RequestParam Long doctorId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        
-        // Get doctor's schedule for the day of week
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        List<DoctorSchedule> schedules = doctorScheduleRepository.findByDoctorIdAndDayOfWeek(doctorId, dayOfWeek);
-        
-        if (schedules.isEmpty()) {
-            return ResponseEntity.ok(new ArrayList<>());
-        }
+        return ResponseEntity.ok(toTimeSlots(availabilityService.getDayAvailability(doctorId, date)));
+    }
 
-        // Get existing appointments for the date
-        List<Appointment> existingAppointments = appointmentRepository.findByDoctorIdAndAppointmentDate(doctorId, date);
+    // Lịch trống của nhiều bác sĩ trong nhiều ngày (vd. cả tuần) trong một lần gọi
+    @GetMapping("/range")
+    public ResponseEntity<List<DoctorDayTimeSlotsDTO>> getAvailableTimeSlotsInRange(
+            @RequestParam List<Long> doctorIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (doctorIds.isEmpty() || doctorIds.size() > MAX_RANGE_DOCTORS || to.isBefore(from)
+                || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<DoctorDayTimeSlotsDTO> result = new ArrayList<>();
+        availabilityService.getAvailability(new LinkedHashSet<>(doctorIds), from, to).forEach((doctorId, days) ->
+                days.forEach((date, availability) ->
+                        result.add(new DoctorDayTimeSlotsDTO(doctorId, date, toTimeSlots(availability)))));
+        return ResponseEntity.ok(result);
+    }
 
-        // Generate time slots
+    private List<TimeSlotDTO> toTimeSlots(AvailabilityService.DayAvailability availability) {
         List<TimeSlotDTO> timeSlots = new ArrayList<>();
-        for (DoctorSchedule schedule : schedules) {
-            LocalTime currentTime = schedule.getStartTime();
-            while (currentTime.isBefore(schedule.getEndTime())) {
-                // Create a final copy of currentTime for use in lambda
-                final LocalTime slotTime = currentTime;
-                
-                // Check if this time slot is available
-                boolean isAvailable = existingAppointments.stream()
-                    .noneMatch(appointment -> appointment.getAppointmentTime().equals(slotTime));
-
-                timeSlots.add(new TimeSlotDTO(
-                    timeSlots.size() + 1L,
-                    currentTime.toString(),
-                    isAvailable
-                ));
-
-                // Move to next 30-minute slot
-                currentTime = currentTime.plusMinutes(30);
-            }
+        List<LocalTime> slots = availability.getSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            timeSlots.add(new TimeSlotDTO(i + 1L, slots.get(i).toString(), availability.isFree(i)));
+        }
+        return timeSlots;
+    }
+
+    public static class DoctorDayTimeSlotsDTO {
+        private Long doctorId;
+        private LocalDate date;
+        private List<TimeSlotDTO> slots;
+
+        public DoctorDayTimeSlotsDTO(Long doctorId, LocalDate date, List<TimeSlotDTO> slots) {
+            this.doctorId = doctorId;
+            this.date = date;
+            this.slots = slots;
+        }
+
+        public Long getDoctorId() {
+            return doctorId;
         }
 
-        return ResponseEntity.ok(timeSlots);
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public List<TimeSlotDTO> getSlots() {
+            return slots;
+        }
     }
 
     // DTO class for time slots
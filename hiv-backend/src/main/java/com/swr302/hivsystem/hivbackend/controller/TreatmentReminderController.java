@@ -1,20 +1,31 @@
 package com.swr302.hivsystem.hivbackend.controller;
 
+import com.swr302.hivsystem.hivbackend.dto.TreatmentReminderSummaryDTO;
+import com.swr302.hivsystem.hivbackend.exception.ReminderAlreadyExistsException;
 import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.model.User;
 import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
-import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
 import com.swr302.hivsystem.hivbackend.repository.TreatmentReminderRepository;
 import com.swr302.hivsystem.hivbackend.repository.MedicationScheduleRepository;
+import com.swr302.hivsystem.hivbackend.repository.SummaryQueryExecutor;
+import com.swr302.hivsystem.hivbackend.specification.FilterSpecifications;
+import com.swr302.hivsystem.hivbackend.util.KeysetCursor;
+import com.swr302.hivsystem.hivbackend.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.time.LocalDateTime;
 
 @RestController
@@ -33,23 +44,48 @@ public class TreatmentReminderController {
     @Autowired
     private MedicationScheduleRepository medicationScheduleRepository;
 
+    @Autowired
+    private SummaryQueryExecutor summaryQueryExecutor;
+
     @GetMapping
-    public List<TreatmentReminder> getTreatmentReminders(
+    public ResponseEntity<List<TreatmentReminderSummaryDTO>> getTreatmentReminders(
             @RequestParam(value = "patientId", required = false) Long patientId,
             @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "reminderType", required = false) String reminderType
+            @RequestParam(value = "reminderType", required = false) String reminderType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "desc") String direction
     ) {
-        if (patientId != null && status != null && reminderType != null) {
-            return treatmentReminderRepository.findByPatient_IdAndStatusAndReminderType(patientId, status, reminderType);
-        } else if (patientId != null && status != null) {
-            return treatmentReminderRepository.findByPatient_IdAndStatus(patientId, status);
-        } else if (patientId != null && reminderType != null) {
-            return treatmentReminderRepository.findByPatient_IdAndReminderType(patientId, reminderType);
-        } else if (patientId != null) {
-            return treatmentReminderRepository.findByPatient_Id(patientId);
-        } else {
-            return treatmentReminderRepository.findAll();
-        }
+        return Pagination.toResponse(summaryQueryExecutor.findSlice(TreatmentReminder.class,
+                filter(patientId, status, reminderType), TreatmentReminderSummaryDTO.class,
+                TreatmentReminderRepository::summaryColumns, Pagination.sorted(page, size, sort, direction)));
+    }
+
+    // Cuộn theo (createdAt, id); trang kế lấy bằng cursor trong header X-Next-Cursor
+    @GetMapping("/scroll")
+    public ResponseEntity<List<TreatmentReminderSummaryDTO>> scrollTreatmentReminders(
+            @RequestParam(value = "patientId", required = false) Long patientId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "reminderType", required = false) String reminderType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Pagination.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "desc") String direction
+    ) {
+        Specification<TreatmentReminder> filter = filter(patientId, status, reminderType);
+        Sort.Direction dir = KeysetCursor.direction(cursor, direction);
+        return KeysetCursor.toResponse(treatmentReminderRepository.findBy(filter,
+                        q -> q.sortBy(KeysetCursor.sort("createdAt", dir)).limit(KeysetCursor.limit(size))
+                                .scroll(KeysetCursor.position(cursor, "createdAt"))),
+                dir, TreatmentReminder::getCreatedAt, TreatmentReminder::getId, TreatmentReminderSummaryDTO::fromEntity);
+    }
+
+    // Bộ lọc dùng chung cho danh sách và /scroll; tham số null = không lọc
+    private static Specification<TreatmentReminder> filter(Long patientId, String status, String reminderType) {
+        return FilterSpecifications.allOf(
+                FilterSpecifications.equal("patient.id", patientId),
+                FilterSpecifications.equal("status", status),
+                FilterSpecifications.equal("reminderType", reminderType));
     }
 
     @GetMapping("/{id}")
@@ -70,7 +106,7 @@ public class TreatmentReminderController {
         treatmentReminder.setCreatedBy(createdByOptional.get());
         treatmentReminder.setPatient(patientOptional.get());
 
-        return ResponseEntity.ok(treatmentReminderRepository.save(treatmentReminder));
+        return ResponseEntity.ok(saveUnique(treatmentReminder));
     }
 
     @PutMapping("/{id}")
@@ -81,12 +117,39 @@ public class TreatmentReminderController {
             existingTreatmentReminder.setReminderType(treatmentReminderDetails.getReminderType());
             existingTreatmentReminder.setReminderDate(treatmentReminderDetails.getReminderDate());
             existingTreatmentReminder.setStatus(treatmentReminderDetails.getStatus());
-            return ResponseEntity.ok(treatmentReminderRepository.save(existingTreatmentReminder));
+            return ResponseEntity.ok(saveUnique(existingTreatmentReminder));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Mỗi (patient, loại, thời điểm) chỉ có một nhắc nhở; trùng thì trả 409 thay vì lỗi ràng buộc của DB
+    private TreatmentReminder saveUnique(TreatmentReminder reminder) {
+        if (isDuplicate(reminder)) {
+            throw duplicateOf(reminder);
+        }
+        try {
+            return treatmentReminderRepository.save(reminder);
+        } catch (DataIntegrityViolationException e) {
+            // Request khác vừa ghi cùng nhắc nhở giữa lúc kiểm tra và lúc lưu
+            if (isDuplicate(reminder)) {
+                throw duplicateOf(reminder);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isDuplicate(TreatmentReminder reminder) {
+        return treatmentReminderRepository.findByPatient_IdAndReminderTypeAndReminderDate(reminder.getPatient().getId(),
+                        reminder.getReminderType(), reminder.getReminderDate()).stream()
+                .anyMatch(existing -> !existing.getId().equals(reminder.getId()));
+    }
+
+    private static ReminderAlreadyExistsException duplicateOf(TreatmentReminder reminder) {
+        return new ReminderAlreadyExistsException("A " + reminder.getReminderType() + " reminder for patient "
+                + reminder.getPatient().getId() + " at " + reminder.getReminderDate() + " already exists");
+    }
+
     @PutMapping("/{id}/send")
     public ResponseEntity<TreatmentReminder> sendTreatmentReminder(@PathVariable Long id) {
         Optional<TreatmentReminder> treatmentReminder = treatmentReminderRepository.findById(id);
@@ -125,7 +188,6 @@ public class TreatmentReminderController {
     // API tạo nhắc nhở uống thuốc từ lịch uống thuốc có sẵn cho bệnh nhân
     @PostMapping("/medication-reminders/patient/{patientId}")
     public ResponseEntity<String> createMedicationRemindersFromSchedules(@PathVariable Long patientId, @RequestParam Long createdById) {
-        List<MedicationSchedule> schedules = medicationScheduleRepository.findByPrescription_TreatmentPlan_Patient_Id(patientId);
         Optional<User> createdByOpt = userRepository.findById(createdById);
         Optional<Patient> patientOpt = patientRepository.findById(patientId);
         if (createdByOpt.isEmpty() || patientOpt.isEmpty()) {
@@ -133,24 +195,21 @@ public class TreatmentReminderController {
         }
         User createdBy = createdByOpt.get();
         Patient patient = patientOpt.get();
-        int count = 0;
         LocalDateTime now = LocalDateTime.now();
-        for (MedicationSchedule schedule : schedules) {
-            // Chỉ tạo nhắc nhở cho các lịch uống thuốc trong tương lai và chưa hoàn thành
-            if (schedule.getIntakeTime().isAfter(now) && (schedule.getStatus() == null || !"COMPLETED".equalsIgnoreCase(schedule.getStatus()))) {
-                // Kiểm tra đã có nhắc nhở cùng thời gian chưa
-                boolean exists = !treatmentReminderRepository.findByPatient_IdAndReminderTypeAndReminderDate(patientId, "MEDICATION", schedule.getIntakeTime()).isEmpty();
-                if (exists) continue;
-                TreatmentReminder reminder = new TreatmentReminder();
-                reminder.setCreatedBy(createdBy);
-                reminder.setPatient(patient);
-                reminder.setReminderType("MEDICATION");
-                reminder.setReminderDate(schedule.getIntakeTime());
-                reminder.setStatus("PENDING");
-                treatmentReminderRepository.save(reminder);
-                count++;
-            }
+        // Chỉ tạo nhắc nhở cho các lịch uống thuốc trong tương lai, chưa hoàn thành và chưa có nhắc nhở cùng thời gian
+        Set<LocalDateTime> existing = new HashSet<>(treatmentReminderRepository.findReminderDates(patientId, "MEDICATION", now));
+        List<TreatmentReminder> reminders = new ArrayList<>();
+        for (LocalDateTime intakeTime : medicationScheduleRepository.findUpcomingIntakeTimes(patientId, now)) {
+            if (!existing.add(intakeTime)) continue;
+            TreatmentReminder reminder = new TreatmentReminder();
+            reminder.setCreatedBy(createdBy);
+            reminder.setPatient(patient);
+            reminder.setReminderType("MEDICATION");
+            reminder.setReminderDate(intakeTime);
+            reminder.setStatus("PENDING");
+            reminders.add(reminder);
         }
+        int count = treatmentReminderRepository.batchInsert(reminders);
         return ResponseEntity.ok("Đã tạo " + count + " nhắc nhở uống thuốc cho bệnh nhân.");
     }
 
@@ -158,14 +217,7 @@ public class TreatmentReminderController {
     @DeleteMapping("/medication-reminders/patient/{patientId}")
     public ResponseEntity<String> deleteMedicationRemindersByPatient(@PathVariable Long patientId) {
         try {
-            List<TreatmentReminder> reminders = treatmentReminderRepository.findByPatient_IdAndReminderType(patientId, "MEDICATION");
-            int count = 0;
-            for (TreatmentReminder reminder : reminders) {
-                if (!"COMPLETED".equalsIgnoreCase(reminder.getStatus())) {
-                    treatmentReminderRepository.delete(reminder);
-                    count++;
-                }
-            }
+            int count = treatmentReminderRepository.deleteByPatientAndTypeExceptStatus(patientId, "MEDICATION", "COMPLETED");
             return ResponseEntity.ok("Đã xóa " + count + " nhắc nhở uống thuốc chưa hoàn thành cho bệnh nhân " + patientId);
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,49 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Projection cho danh sách lịch hẹn: một câu SQL, chỉ các cột cần hiển thị
+public class AppointmentSummaryDTO {
+    private Long id;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private String status;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PatientRefDTO patient;
+    private DoctorRefDTO doctor;
+    private NamedRefDTO medicalService;
+
+    public AppointmentSummaryDTO(Long id, LocalDate appointmentDate, LocalTime appointmentTime, String status,
+                                 String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                 Long patientId, String patientCode, String patientName, LocalDate patientDateOfBirth,
+                                 String patientEmail, String patientPhoneNumber,
+                                 Long doctorId, String doctorCode, String doctorName, String doctorSpecialization,
+                                 Long medicalServiceId, String medicalServiceName) {
+        this.id = id;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.status = status;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.patient = patientId != null ? new PatientRefDTO(patientId, patientCode, patientName,
+                patientDateOfBirth, patientEmail, patientPhoneNumber) : null;
+        this.doctor = doctorId != null ? new DoctorRefDTO(doctorId, doctorCode, doctorName, doctorSpecialization) : null;
+        this.medicalService = NamedRefDTO.of(medicalServiceId, medicalServiceName);
+    }
+
+    public Long getId() { return id; }
+    public LocalDate getAppointmentDate() { return appointmentDate; }
+    public LocalTime getAppointmentTime() { return appointmentTime; }
+    public String getStatus() { return status; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public PatientRefDTO getPatient() { return patient; }
+    public DoctorRefDTO getDoctor() { return doctor; }
+    public NamedRefDTO getMedicalService() { return medicalService; }
+}
@@ -0,0 +1,21 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+// Thông tin bác sĩ rút gọn nhúng trong các projection danh sách
+public class DoctorRefDTO {
+    private Long id;
+    private String doctorCode;
+    private String fullName;
+    private String specialization;
+
+    public DoctorRefDTO(Long id, String doctorCode, String fullName, String specialization) {
+        this.id = id;
+        this.doctorCode = doctorCode;
+        this.fullName = fullName;
+        this.specialization = specialization;
+    }
+
+    public Long getId() { return id; }
+    public String getDoctorCode() { return doctorCode; }
+    public String getFullName() { return fullName; }
+    public String getSpecialization() { return specialization; }
+}
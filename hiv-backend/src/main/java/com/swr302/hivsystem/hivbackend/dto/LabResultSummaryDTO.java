@@ -0,0 +1,65 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import com.swr302.hivsystem.hivbackend.model.LabResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection cho danh sách kết quả xét nghiệm; người nhập chỉ gồm id, username, họ tên
+public class LabResultSummaryDTO {
+    private Long id;
+    private LocalDate testDate;
+    private String resultValue;
+    private String unit;
+    private String normalRange;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PatientRefDTO patient;
+    private NamedRefDTO testType;
+    private UserRefDTO enteredBy;
+
+    public LabResultSummaryDTO(Long id, LocalDate testDate, String resultValue, String unit, String normalRange,
+                               String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                               Long patientId, String patientCode, String patientName, LocalDate patientDateOfBirth,
+                               String patientEmail, String patientPhoneNumber,
+                               Long testTypeId, String testTypeName,
+                               Long enteredById, String enteredByUsername, String enteredByName) {
+        this.id = id;
+        this.testDate = testDate;
+        this.resultValue = resultValue;
+        this.unit = unit;
+        this.normalRange = normalRange;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.patient = patientId != null ? new PatientRefDTO(patientId, patientCode, patientName,
+                patientDateOfBirth, patientEmail, patientPhoneNumber) : null;
+        this.testType = NamedRefDTO.of(testTypeId, testTypeName);
+        this.enteredBy = enteredById != null ? new UserRefDTO(enteredById, enteredByUsername, enteredByName) : null;
+    }
+
+    public static LabResultSummaryDTO fromEntity(LabResult result) {
+        LabResultSummaryDTO dto = new LabResultSummaryDTO(result.getId(), result.getTestDate(), result.getResultValue(),
+                result.getUnit(), result.getNormalRange(), result.getNotes(), result.getCreatedAt(), result.getUpdatedAt(),
+                null, null, null, null, null, null,
+                result.getTestType() != null ? result.getTestType().getId() : null,
+                result.getTestType() != null ? result.getTestType().getName() : null,
+                null, null, null);
+        dto.patient = PatientRefDTO.fromEntity(result.getPatient());
+        dto.enteredBy = UserRefDTO.fromEntity(result.getEnteredBy());
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public LocalDate getTestDate() { return testDate; }
+    public String getResultValue() { return resultValue; }
+    public String getUnit() { return unit; }
+    public String getNormalRange() { return normalRange; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public PatientRefDTO getPatient() { return patient; }
+    public NamedRefDTO getTestType() { return testType; }
+    public UserRefDTO getEnteredBy() { return enteredBy; }
+}
@@ -0,0 +1,23 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Tham chiếu danh mục (dịch vụ, phác đồ, loại xét nghiệm...) gồm id và tên
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NamedRefDTO {
+    private Long id;
+    private String name;
+
+    public NamedRefDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Trả về null khi không có liên kết (LEFT JOIN)
+    public static NamedRefDTO of(Long id, String name) {
+        return id != null ? new NamedRefDTO(id, name) : null;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+}
@@ -0,0 +1,53 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import java.time.LocalDateTime;
+
+// Projection dùng cho danh sách tư vấn online theo bệnh nhân / bác sĩ (một câu SQL, không lazy load)
+public class OnlineConsultationSummaryDTO {
+    private Long id;
+    private Long appointmentId;
+    private String consultationType;
+    private String meetingLink;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String status;
+    private String doctorName;
+    private String patientName;
+    private Long patientId;
+
+    public OnlineConsultationSummaryDTO(Long id, Long appointmentId, String consultationType, String meetingLink,
+                                        LocalDateTime startTime, LocalDateTime endTime, String notes,
+                                        LocalDateTime createdAt, LocalDateTime updatedAt, String status,
+                                        String doctorName, String patientName, Long patientId) {
+        this.id = id;
+        this.appointmentId = appointmentId;
+        this.consultationType = consultationType;
+        this.meetingLink = meetingLink;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.status = status;
+        this.doctorName = doctorName != null ? doctorName : "";
+        this.patientName = patientName != null ? patientName : "";
+        this.patientId = patientId;
+    }
+
+    public Long getId() { return id; }
+    public Long getAppointmentId() { return appointmentId; }
+    public String getConsultationType() { return consultationType; }
+    public String getMeetingLink() { return meetingLink; }
+    public LocalDateTime getStartTime() { return startTime; }
+    public LocalDateTime getEndTime() { return endTime; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public String getStatus() { return status; }
+    public String getDoctorName() { return doctorName; }
+    public String getPatientName() { return patientName; }
+    public Long getPatientId() { return patientId; }
+}
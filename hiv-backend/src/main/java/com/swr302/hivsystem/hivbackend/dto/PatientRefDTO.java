@@ -0,0 +1,38 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import java.time.LocalDate;
+
+// Thông tin bệnh nhân rút gọn nhúng trong các projection danh sách
+public class PatientRefDTO {
+    private Long id;
+    private String patientCode;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private String email;
+    private String phoneNumber;
+
+    public PatientRefDTO(Long id, String patientCode, String fullName, LocalDate dateOfBirth,
+                         String email, String phoneNumber) {
+        this.id = id;
+        this.patientCode = patientCode;
+        this.fullName = fullName;
+        this.dateOfBirth = dateOfBirth;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+    }
+
+    public static PatientRefDTO fromEntity(com.swr302.hivsystem.hivbackend.model.Patient patient) {
+        if (patient == null) {
+            return null;
+        }
+        return new PatientRefDTO(patient.getId(), patient.getPatientCode(), patient.getFullName(),
+                patient.getDateOfBirth(), patient.getEmail(), patient.getPhoneNumber());
+    }
+
+    public Long getId() { return id; }
+    public String getPatientCode() { return patientCode; }
+    public String getFullName() { return fullName; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public String getEmail() { return email; }
+    public String getPhoneNumber() { return phoneNumber; }
+}
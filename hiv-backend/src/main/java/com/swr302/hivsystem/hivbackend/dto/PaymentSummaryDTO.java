@@ -0,0 +1,63 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import com.swr302.hivsystem.hivbackend.model.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection cho lịch sử thanh toán; tư vấn / lịch xét nghiệm liên quan chỉ trả về id
+public class PaymentSummaryDTO {
+    private Long id;
+    private BigDecimal amount;
+    private String method;
+    private String status;
+    private LocalDateTime paymentDate;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PatientRefDTO patient;
+    private NamedRefDTO onlineConsultation;
+    private NamedRefDTO labBooking;
+
+    public PaymentSummaryDTO(Long id, BigDecimal amount, String method, String status, LocalDateTime paymentDate,
+                             String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                             Long patientId, String patientCode, String patientName, LocalDate patientDateOfBirth,
+                             String patientEmail, String patientPhoneNumber,
+                             Long onlineConsultationId, Long labBookingId) {
+        this.id = id;
+        this.amount = amount;
+        this.method = method;
+        this.status = status;
+        this.paymentDate = paymentDate;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.patient = patientId != null ? new PatientRefDTO(patientId, patientCode, patientName,
+                patientDateOfBirth, patientEmail, patientPhoneNumber) : null;
+        this.onlineConsultation = NamedRefDTO.of(onlineConsultationId, null);
+        this.labBooking = NamedRefDTO.of(labBookingId, null);
+    }
+
+    public static PaymentSummaryDTO fromEntity(Payment payment) {
+        PaymentSummaryDTO dto = new PaymentSummaryDTO(payment.getId(), payment.getAmount(), payment.getMethod(),
+                payment.getStatus(), payment.getPaymentDate(), payment.getNotes(), payment.getCreatedAt(),
+                payment.getUpdatedAt(), null, null, null, null, null, null,
+                payment.getOnlineConsultation() != null ? payment.getOnlineConsultation().getId() : null,
+                payment.getLabBooking() != null ? payment.getLabBooking().getId() : null);
+        dto.patient = PatientRefDTO.fromEntity(payment.getPatient());
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public BigDecimal getAmount() { return amount; }
+    public String getMethod() { return method; }
+    public String getStatus() { return status; }
+    public LocalDateTime getPaymentDate() { return paymentDate; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public PatientRefDTO getPatient() { return patient; }
+    public NamedRefDTO getOnlineConsultation() { return onlineConsultation; }
+    public NamedRefDTO getLabBooking() { return labBooking; }
+}
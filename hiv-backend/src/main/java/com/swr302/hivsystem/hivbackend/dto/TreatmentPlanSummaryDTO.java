@@ -0,0 +1,45 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection cho danh sách phác đồ điều trị của bệnh nhân / bác sĩ
+public class TreatmentPlanSummaryDTO {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PatientRefDTO patient;
+    private DoctorRefDTO doctor;
+    private NamedRefDTO arvProtocol;
+
+    public TreatmentPlanSummaryDTO(Long id, LocalDate startDate, LocalDate endDate, String notes,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt,
+                                   Long patientId, String patientCode, String patientName, LocalDate patientDateOfBirth,
+                                   String patientEmail, String patientPhoneNumber,
+                                   Long doctorId, String doctorCode, String doctorName, String doctorSpecialization,
+                                   Long arvProtocolId, String arvProtocolName) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.patient = patientId != null ? new PatientRefDTO(patientId, patientCode, patientName,
+                patientDateOfBirth, patientEmail, patientPhoneNumber) : null;
+        this.doctor = doctorId != null ? new DoctorRefDTO(doctorId, doctorCode, doctorName, doctorSpecialization) : null;
+        this.arvProtocol = NamedRefDTO.of(arvProtocolId, arvProtocolName);
+    }
+
+    public Long getId() { return id; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public PatientRefDTO getPatient() { return patient; }
+    public DoctorRefDTO getDoctor() { return doctor; }
+    public NamedRefDTO getArvProtocol() { return arvProtocol; }
+}
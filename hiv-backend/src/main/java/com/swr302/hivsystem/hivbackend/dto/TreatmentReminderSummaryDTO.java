@@ -0,0 +1,52 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection cho danh sách nhắc nhở điều trị; người tạo chỉ gồm id, username, họ tên
+public class TreatmentReminderSummaryDTO {
+    private Long id;
+    private String reminderType;
+    private LocalDateTime reminderDate;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private PatientRefDTO patient;
+    private UserRefDTO createdBy;
+
+    public TreatmentReminderSummaryDTO(Long id, String reminderType, LocalDateTime reminderDate, String status,
+                                       LocalDateTime createdAt, LocalDateTime updatedAt,
+                                       Long patientId, String patientCode, String patientName, LocalDate patientDateOfBirth,
+                                       String patientEmail, String patientPhoneNumber,
+                                       Long createdById, String createdByUsername, String createdByName) {
+        this.id = id;
+        this.reminderType = reminderType;
+        this.reminderDate = reminderDate;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.patient = patientId != null ? new PatientRefDTO(patientId, patientCode, patientName,
+                patientDateOfBirth, patientEmail, patientPhoneNumber) : null;
+        this.createdBy = createdById != null ? new UserRefDTO(createdById, createdByUsername, createdByName) : null;
+    }
+
+    public static TreatmentReminderSummaryDTO fromEntity(TreatmentReminder reminder) {
+        TreatmentReminderSummaryDTO dto = new TreatmentReminderSummaryDTO(reminder.getId(), reminder.getReminderType(),
+                reminder.getReminderDate(), reminder.getStatus(), reminder.getCreatedAt(), reminder.getUpdatedAt(),
+                null, null, null, null, null, null, null, null, null);
+        dto.patient = PatientRefDTO.fromEntity(reminder.getPatient());
+        dto.createdBy = UserRefDTO.fromEntity(reminder.getCreatedBy());
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public String getReminderType() { return reminderType; }
+    public LocalDateTime getReminderDate() { return reminderDate; }
+    public String getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public PatientRefDTO getPatient() { return patient; }
+    public UserRefDTO getCreatedBy() { return createdBy; }
+}
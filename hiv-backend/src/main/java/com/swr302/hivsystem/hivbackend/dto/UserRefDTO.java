@@ -0,0 +1,25 @@
+package com.swr302.hivsystem.hivbackend.dto;
+
+// Người tạo / người nhập: chỉ id, username và họ tên (không trả về mật khẩu, vai trò)
+public class UserRefDTO {
+    private Long id;
+    private String username;
+    private String fullName;
+
+    public UserRefDTO(Long id, String username, String fullName) {
+        this.id = id;
+        this.username = username;
+        this.fullName = fullName;
+    }
+
+    public static UserRefDTO fromEntity(com.swr302.hivsystem.hivbackend.model.User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserRefDTO(user.getId(), user.getUsername(), user.getFullName());
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getFullName() { return fullName; }
+}
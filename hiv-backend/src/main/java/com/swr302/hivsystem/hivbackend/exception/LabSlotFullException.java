@@ -0,0 +1,11 @@
+package com.swr302.hivsystem.hivbackend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class LabSlotFullException extends RuntimeException {
+    public LabSlotFullException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,16 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "arv_protocols")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ARV_PROTOCOLS)
 public class ArvProtocol {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
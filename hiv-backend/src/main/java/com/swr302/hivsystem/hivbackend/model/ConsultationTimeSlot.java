@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "consultation_time_slots")
+@Table(name = "consultation_time_slots", indexes = {
+        @Index(name = "idx_consultation_time_slots_doctor_start", columnList = "doctor_id, start_time")
+})
 public class ConsultationTimeSlot {
 
     @Id
@@ -1,10 +1,14 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "consultation_types")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.CONSULTATION_TYPES)
 public class ConsultationType {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
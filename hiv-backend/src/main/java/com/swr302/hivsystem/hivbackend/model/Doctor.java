@@ -1,10 +1,15 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", indexes = {
+        @Index(name = "idx_doctors_user", columnList = "user_id"),
+        @Index(name = "idx_doctors_updated_at", columnList = "updated_at")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Doctor {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
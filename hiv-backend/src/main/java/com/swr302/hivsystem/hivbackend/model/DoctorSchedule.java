@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "doctor_schedules")
+@Table(name = "doctor_schedules", indexes = {
+        @Index(name = "idx_doctor_schedules_doctor_day", columnList = "doctor_id, day_of_week")
+})
 public class DoctorSchedule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
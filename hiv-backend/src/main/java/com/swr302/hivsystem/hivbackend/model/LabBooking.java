@@ -5,7 +5,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lab_bookings")
+@Table(name = "lab_bookings", indexes = {
+        @Index(name = "idx_lab_bookings_patient_date", columnList = "patient_id, date"),
+        @Index(name = "idx_lab_bookings_date_slot", columnList = "date, time_slot_id")
+})
 public class LabBooking {
 
     @Id
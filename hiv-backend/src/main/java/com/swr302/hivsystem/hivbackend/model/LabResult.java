@@ -5,17 +5,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lab_results")
+@Table(name = "lab_results", indexes = {
+        @Index(name = "idx_lab_results_patient_created", columnList = "patient_id, created_at, id")
+})
+@NamedEntityGraph(name = LabResult.GRAPH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("testType"),
+        @NamedAttributeNode("enteredBy")
+})
 public class LabResult {
+    // Fetch plan nạp cùng lúc bệnh nhân, loại xét nghiệm và người nhập
+    public static final String GRAPH_DETAILS = "LabResult.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "test_type_id", nullable = false)
     private LabTestType testType;
 
@@ -34,7 +44,7 @@ public class LabResult {
     @Column(columnDefinition = "NVARCHAR(4000)")
     private String notes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "entered_by_id", nullable = false)
     private User enteredBy;
 
@@ -1,11 +1,19 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "medical_services")
+@Table(name = "medical_services", indexes = {
+        @Index(name = "idx_medical_services_name", columnList = "name")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MEDICAL_SERVICES)
 public class MedicalService {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
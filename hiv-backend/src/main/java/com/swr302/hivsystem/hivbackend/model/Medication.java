@@ -1,10 +1,14 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "medications")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MEDICATIONS)
 public class Medication {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
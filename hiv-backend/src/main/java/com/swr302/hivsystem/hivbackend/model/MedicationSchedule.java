@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "medication_schedules")
+@Table(name = "medication_schedules", indexes = {
+        @Index(name = "idx_medication_schedules_prescription_intake", columnList = "prescription_id, intake_time, id")
+})
 public class MedicationSchedule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
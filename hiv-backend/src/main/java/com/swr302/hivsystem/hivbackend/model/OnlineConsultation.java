@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "online_consultations")
+@Table(name = "online_consultations", indexes = {
+        @Index(name = "idx_online_consultations_appointment", columnList = "appointment_id")
+})
 public class OnlineConsultation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,5 +1,6 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -7,7 +8,12 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        @Index(name = "idx_patients_user", columnList = "user_id"),
+        @Index(name = "idx_patients_phone_number", columnList = "phone_number"),
+        @Index(name = "idx_patients_updated_at", columnList = "updated_at")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Patient {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
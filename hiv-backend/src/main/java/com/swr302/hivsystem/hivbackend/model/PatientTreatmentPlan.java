@@ -1,25 +1,42 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "patient_treatment_plans")
+@Table(name = "patient_treatment_plans", indexes = {
+        @Index(name = "idx_patient_treatment_plans_patient", columnList = "patient_id"),
+        @Index(name = "idx_patient_treatment_plans_doctor_patient", columnList = "doctor_id, patient_id")
+})
+@NamedEntityGraph(name = PatientTreatmentPlan.GRAPH_DETAILS, attributeNodes = {
+        @NamedAttributeNode(value = "patient", subgraph = "patient"),
+        @NamedAttributeNode(value = "doctor", subgraph = "doctor"),
+        @NamedAttributeNode("arvProtocol")
+}, subgraphs = {
+        @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user")),
+        @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user")),
+        @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("role"))
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class PatientTreatmentPlan {
+    // Fetch plan nạp cùng lúc bệnh nhân, bác sĩ (kèm tài khoản EAGER của họ) và phác đồ ARV
+    public static final String GRAPH_DETAILS = "PatientTreatmentPlan.details";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "arv_protocol_id", nullable = false)
     private ArvProtocol arvProtocol;
 
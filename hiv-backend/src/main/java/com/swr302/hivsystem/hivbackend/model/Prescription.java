@@ -7,13 +7,23 @@ import java.util.List;
 import com.swr302.hivsystem.hivbackend.model.PrescriptionDetail;
 
 @Entity
-@Table(name = "prescriptions")
+@Table(name = "prescriptions", indexes = {
+        @Index(name = "idx_prescriptions_treatment_plan", columnList = "treatment_plan_id")
+})
+@NamedEntityGraph(name = Prescription.GRAPH_TREATMENT_PLAN, attributeNodes = {
+        @NamedAttributeNode(value = "treatmentPlan", subgraph = "treatmentPlan")
+}, subgraphs = {
+        @NamedSubgraph(name = "treatmentPlan", attributeNodes = @NamedAttributeNode("arvProtocol"))
+})
 public class Prescription {
+    // Fetch plan cho PrescriptionDTO: phác đồ điều trị kèm phác đồ ARV
+    public static final String GRAPH_TREATMENT_PLAN = "Prescription.treatmentPlan";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "treatment_plan_id", nullable = false)
     private PatientTreatmentPlan treatmentPlan;
 
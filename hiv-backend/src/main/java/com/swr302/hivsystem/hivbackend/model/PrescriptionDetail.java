@@ -1,9 +1,13 @@
 package com.swr302.hivsystem.hivbackend.model;
 
 import jakarta.persistence.*;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "prescription_details")
+@Table(name = "prescription_details", indexes = {
+        @Index(name = "idx_prescription_details_prescription", columnList = "prescription_id"),
+        @Index(name = "idx_prescription_details_scheduled_until", columnList = "scheduled_until")
+})
 public class PrescriptionDetail {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +33,14 @@ public class PrescriptionDetail {
     @Lob
     private String notes;
 
+    // Ngày kết thúc liệu trình (không bao gồm) = ngày bắt đầu + durationDays
+    @Column(name = "schedule_end_date")
+    private LocalDate scheduleEndDate;
+
+    // Lịch uống thuốc đã được ghi xuống DB đến trước ngày này
+    @Column(name = "scheduled_until")
+    private LocalDate scheduledUntil;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -85,4 +97,20 @@ public class PrescriptionDetail {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public LocalDate getScheduleEndDate() {
+        return scheduleEndDate;
+    }
+
+    public void setScheduleEndDate(LocalDate scheduleEndDate) {
+        this.scheduleEndDate = scheduleEndDate;
+    }
+
+    public LocalDate getScheduledUntil() {
+        return scheduledUntil;
+    }
+
+    public void setScheduledUntil(LocalDate scheduledUntil) {
+        this.scheduledUntil = scheduledUntil;
+    }
 } 
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.swr302.hivsystem.hivbackend.model;
 
+import com.swr302.hivsystem.hivbackend.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROLES)
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "treatment_reminders")
+@Table(name = "treatment_reminders", indexes = {
+        @Index(name = "idx_treatment_reminders_status_date", columnList = "status, reminder_date"),
+        @Index(name = "idx_treatment_reminders_patient_created", columnList = "patient_id, created_at, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_treatment_reminders_patient_type_date", columnNames = {"patient_id", "reminder_type", "reminder_date"})
+})
 public class TreatmentReminder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +32,13 @@ public class TreatmentReminder {
     @Column(nullable = false, length = 50)
     private String status;
 
+    // Node đang giữ nhắc nhở để gửi và thời điểm hết hạn giữ (node khác được nhận lại sau đó)
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -83,6 +95,22 @@ public class TreatmentReminder {
         this.status = status;
     }
 
+    public String getOwnerNode() {
+        return ownerNode;
+    }
+
+    public void setOwnerNode(String ownerNode) {
+        this.ownerNode = ownerNode;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -11,7 +11,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
 @Table(name = "users") // Renamed to "users" to avoid conflicts with reserved keywords
-@JsonIgnoreProperties({"authorities"})
+@JsonIgnoreProperties({"authorities", "hibernateLazyInitializer", "handler"})
 public class User implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,9 +1,14 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.AppointmentReminder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long>, JpaSpecificationExecutor<AppointmentReminder> {
+    // Một trang không kèm truy vấn đếm tổng số dòng
+    Slice<AppointmentReminder> findAllBy(Pageable pageable);
 } 
\ No newline at end of file
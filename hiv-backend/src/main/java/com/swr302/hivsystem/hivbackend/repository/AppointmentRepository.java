@@ -1,12 +1,43 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.Appointment;
+import com.swr302.hivsystem.hivbackend.model.Doctor;
+import com.swr302.hivsystem.hivbackend.model.MedicalService;
+import com.swr302.hivsystem.hivbackend.model.Patient;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
+    @Override
+    @EntityGraph(attributePaths = {"patient", "doctor", "medicalService"}, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Appointment> findById(Long id);
     List<Appointment> findByDoctorIdAndAppointmentDate(Long doctorId, LocalDate appointmentDate);
-} 
\ No newline at end of file
+    // (doctorId, ngày, giờ) của các lịch hẹn đã đặt trong khoảng ngày
+    @Query("SELECT a.doctor.id, a.appointmentDate, a.appointmentTime FROM Appointment a " +
+           "WHERE a.doctor.id IN :doctorIds AND a.appointmentDate BETWEEN :from AND :to")
+    List<Object[]> findBookedTimes(@Param("doctorIds") Collection<Long> doctorIds, @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    // Cột của AppointmentSummaryDTO theo thứ tự constructor, dùng với SummaryQueryExecutor
+    static List<Selection<?>> summaryColumns(Root<Appointment> a) {
+        Join<Appointment, Patient> p = a.join("patient");
+        Join<Appointment, Doctor> d = a.join("doctor");
+        Join<Appointment, MedicalService> s = a.join("medicalService");
+        return List.of(a.get("id"), a.get("appointmentDate"), a.get("appointmentTime"), a.get("status"), a.get("notes"),
+                a.get("createdAt"), a.get("updatedAt"),
+                p.get("id"), p.get("patientCode"), p.get("fullName"), p.get("dateOfBirth"), p.get("email"), p.get("phoneNumber"),
+                d.get("id"), d.get("doctorCode"), d.get("fullName"), d.get("specialization"), s.get("id"), s.get("name"));
+    }
+}
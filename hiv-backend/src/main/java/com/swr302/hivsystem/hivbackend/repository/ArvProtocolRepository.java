@@ -1,9 +1,16 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.ArvProtocol;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ArvProtocolRepository extends JpaRepository<ArvProtocol, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ArvProtocol> findAll();
 } 
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.ConsultationHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ConsultationHistoryRepository extends JpaRepository<ConsultationHistory, Long> {
+public interface ConsultationHistoryRepository extends JpaRepository<ConsultationHistory, Long>, JpaSpecificationExecutor<ConsultationHistory> {
+    // Một trang không kèm truy vấn đếm tổng số dòng
+    Slice<ConsultationHistory> findAllBy(Pageable pageable);
 } 
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.ConsultationTimeSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -10,4 +13,8 @@ import java.util.List;
 @Repository
 public interface ConsultationTimeSlotRepository extends JpaRepository<ConsultationTimeSlot, Long> {
     List<ConsultationTimeSlot> findByDoctorIdAndStartTimeBetween(Long doctorId, LocalDateTime startOfDay, LocalDateTime endOfDay);
+    // Đặt slot nếu còn trống; trả về 0 khi slot đã bị đặt (hoặc không tồn tại)
+    @Modifying
+    @Query("UPDATE ConsultationTimeSlot s SET s.isBooked = true, s.updatedAt = :now WHERE s.id = :id AND s.isBooked = false")
+    int markBooked(@Param("id") Long id, @Param("now") LocalDateTime now);
 } 
\ No newline at end of file
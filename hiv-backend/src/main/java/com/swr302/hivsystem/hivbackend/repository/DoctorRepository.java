@@ -1,16 +1,31 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    Optional<Doctor> findByUser_Id(Long userId);
     Optional<Doctor> findByDoctorCode(String doctorCode);
     List<Doctor> findBySpecialization(String specialization);
-    List<Doctor> findByFullNameContainingOrDoctorCodeContaining(String fullName, String doctorCode);
+    Slice<Doctor> findByFullNameContainingOrDoctorCodeContaining(String fullName, String doctorCode, Pageable pageable);
+    // (id, mã, họ tên) theo lô tăng dần id để nạp chỉ mục tìm kiếm
+    @Query("SELECT d.id, d.doctorCode, d.fullName FROM Doctor d WHERE d.id > :afterId ORDER BY d.id")
+    List<Object[]> findSearchKeys(@Param("afterId") Long afterId, Pageable pageable);
+    // Dòng sửa từ mốc since (kể cả từ node khác), để làm mới chỉ mục định kỳ
+    @Query("SELECT d.id, d.doctorCode, d.fullName FROM Doctor d WHERE d.updatedAt >= :since AND d.id > :afterId ORDER BY d.id")
+    List<Object[]> findSearchKeysUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+    // Id theo lô tăng dần, để bỏ khỏi chỉ mục các dòng đã bị xóa
+    @Query("SELECT d.id FROM Doctor d WHERE d.id > :afterId ORDER BY d.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
     boolean existsByDoctorCode(String doctorCode);
     boolean existsByLicenseNumber(String licenseNumber);
     boolean existsByEmail(String email);
@@ -4,9 +4,11 @@ import com.swr302.hivsystem.hivbackend.model.DoctorSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long> {
     List<DoctorSchedule> findByDoctorIdAndDayOfWeek(Long doctorId, DayOfWeek dayOfWeek);
+    List<DoctorSchedule> findByDoctorIdIn(Collection<Long> doctorIds);
 } 
\ No newline at end of file
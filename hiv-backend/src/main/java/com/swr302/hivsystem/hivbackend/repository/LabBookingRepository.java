@@ -1,9 +1,23 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.LabBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface LabBookingRepository extends JpaRepository<LabBooking, Long> {
+    // Dùng idx_lab_bookings_patient_date (patient_id, date)
+    Slice<LabBooking> findByPatientId(Long patientId, Pageable pageable);
+
+    // Số lượt đặt còn hiệu lực (chưa hủy) của từng khung giờ trong ngày: [timeSlotId, count]
+    @Query("SELECT b.timeSlotId, COUNT(b) FROM LabBooking b WHERE b.date = :date AND b.timeSlotId IS NOT NULL " +
+           "AND LOWER(b.status) NOT LIKE 'cancel%' GROUP BY b.timeSlotId")
+    List<Object[]> countActiveBySlot(@Param("date") LocalDate date);
 } 
\ No newline at end of file
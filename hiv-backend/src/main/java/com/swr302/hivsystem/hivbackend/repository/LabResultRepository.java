@@ -1,12 +1,36 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.LabResult;
+import com.swr302.hivsystem.hivbackend.model.LabTestType;
+import com.swr302.hivsystem.hivbackend.model.Patient;
+import com.swr302.hivsystem.hivbackend.model.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface LabResultRepository extends JpaRepository<LabResult, Long> {
+public interface LabResultRepository extends JpaRepository<LabResult, Long>, JpaSpecificationExecutor<LabResult> {
+    @Override
+    @EntityGraph(value = LabResult.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<LabResult> findById(Long id);
+    @EntityGraph(value = LabResult.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<LabResult> findByPatientId(Long patientId);
-} 
\ No newline at end of file
+
+    // Cột của LabResultSummaryDTO theo thứ tự constructor, dùng với SummaryQueryExecutor
+    static List<Selection<?>> summaryColumns(Root<LabResult> lr) {
+        Join<LabResult, Patient> p = lr.join("patient");
+        Join<LabResult, LabTestType> tt = lr.join("testType");
+        Join<LabResult, User> u = lr.join("enteredBy");
+        return List.of(lr.get("id"), lr.get("testDate"), lr.get("resultValue"), lr.get("unit"), lr.get("normalRange"),
+                lr.get("notes"), lr.get("createdAt"), lr.get("updatedAt"),
+                p.get("id"), p.get("patientCode"), p.get("fullName"), p.get("dateOfBirth"), p.get("email"), p.get("phoneNumber"),
+                tt.get("id"), tt.get("name"), u.get("id"), u.get("username"), u.get("fullName"));
+    }
+}
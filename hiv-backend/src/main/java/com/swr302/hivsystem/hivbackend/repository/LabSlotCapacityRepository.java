@@ -0,0 +1,32 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import com.swr302.hivsystem.hivbackend.model.LabSlotCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LabSlotCapacityRepository extends JpaRepository<LabSlotCapacity, Long> {
+
+    // Dùng uk_lab_slot_capacities_date_slot (slot_date, time_slot_id)
+    List<LabSlotCapacity> findBySlotDate(LocalDate slotDate);
+
+    boolean existsBySlotDateAndTimeSlotId(LocalDate slotDate, Long timeSlotId);
+
+    // Giữ chỗ: chỉ thành công khi slot còn chỗ trống
+    @Modifying
+    @Query("UPDATE LabSlotCapacity c SET c.booked = c.booked + 1, c.updatedAt = :now " +
+           "WHERE c.slotDate = :date AND c.timeSlotId = :slotId AND c.booked < c.capacity")
+    int reserve(@Param("date") LocalDate date, @Param("slotId") Long slotId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE LabSlotCapacity c SET c.booked = c.booked - 1, c.updatedAt = :now " +
+           "WHERE c.slotDate = :date AND c.timeSlotId = :slotId AND c.booked > 0")
+    int release(@Param("date") LocalDate date, @Param("slotId") Long slotId, @Param("now") LocalDateTime now);
+}
@@ -2,11 +2,19 @@ package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface MedicationScheduleRepository extends JpaRepository<MedicationSchedule, Long> {
+public interface MedicationScheduleRepository extends JpaRepository<MedicationSchedule, Long>, JpaSpecificationExecutor<MedicationSchedule>, MedicationScheduleRepositoryCustom {
     // Lấy tất cả lịch uống thuốc theo bệnh nhân
     List<MedicationSchedule> findByPrescription_TreatmentPlan_Patient_Id(Long patientId);
+    // Các giờ uống thuốc sắp tới chưa hoàn thành của bệnh nhân
+    @Query("SELECT DISTINCT ms.intakeTime FROM MedicationSchedule ms WHERE ms.prescription.treatmentPlan.patient.id = :patientId " +
+           "AND ms.intakeTime > :after AND (ms.status IS NULL OR UPPER(ms.status) <> 'COMPLETED')")
+    List<LocalDateTime> findUpcomingIntakeTimes(@Param("patientId") Long patientId, @Param("after") LocalDateTime after);
 } 
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
+
+import java.util.List;
+
+public interface MedicationScheduleRepositoryCustom {
+    // Ghi lịch uống thuốc theo lô JDBC (bỏ qua IDENTITY insert từng dòng của Hibernate)
+    int batchInsert(List<MedicationSchedule> schedules);
+}
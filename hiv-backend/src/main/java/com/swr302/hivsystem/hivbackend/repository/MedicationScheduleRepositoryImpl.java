@@ -0,0 +1,34 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public class MedicationScheduleRepositoryImpl implements MedicationScheduleRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO medication_schedules " +
+            "(prescription_id, intake_time, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<MedicationSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, schedules, BATCH_SIZE, (ps, schedule) -> {
+            ps.setLong(1, schedule.getPrescription().getId());
+            ps.setTimestamp(2, Timestamp.valueOf(schedule.getIntakeTime()));
+            ps.setString(3, schedule.getStatus());
+            ps.setTimestamp(4, Timestamp.valueOf(schedule.getCreatedAt()));
+            ps.setTimestamp(5, Timestamp.valueOf(schedule.getUpdatedAt()));
+        });
+        return schedules.size();
+    }
+}
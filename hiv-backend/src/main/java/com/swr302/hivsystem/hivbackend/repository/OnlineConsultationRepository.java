@@ -1,9 +1,28 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
+import com.swr302.hivsystem.hivbackend.dto.OnlineConsultationSummaryDTO;
 import com.swr302.hivsystem.hivbackend.model.OnlineConsultation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OnlineConsultationRepository extends JpaRepository<OnlineConsultation, Long> {
-} 
\ No newline at end of file
+public interface OnlineConsultationRepository extends JpaRepository<OnlineConsultation, Long>, JpaSpecificationExecutor<OnlineConsultation> {
+    String SUMMARY_SELECT = "SELECT new com.swr302.hivsystem.hivbackend.dto.OnlineConsultationSummaryDTO(" +
+            "oc.id, a.id, ct.name, oc.meetingLink, oc.startTime, oc.endTime, oc.notes, oc.createdAt, oc.updatedAt, " +
+            "a.status, d.fullName, p.fullName, p.id) " +
+            "FROM OnlineConsultation oc JOIN oc.appointment a JOIN oc.consultationType ct " +
+            "LEFT JOIN a.doctor d LEFT JOIN a.patient p ";
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :patientId ORDER BY oc.startTime DESC, oc.id DESC")
+    Slice<OnlineConsultationSummaryDTO> findSummariesByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE d.id = :doctorId ORDER BY oc.startTime DESC, oc.id DESC")
+    Slice<OnlineConsultationSummaryDTO> findSummariesByDoctorId(@Param("doctorId") Long doctorId, Pageable pageable);
+    // Một trang không kèm truy vấn đếm tổng số dòng
+    Slice<OnlineConsultation> findAllBy(Pageable pageable);
+}
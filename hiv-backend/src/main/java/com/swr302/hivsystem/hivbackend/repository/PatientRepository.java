@@ -1,17 +1,34 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.Patient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpecificationExecutor<Patient> {
     Optional<Patient> findByUser_Id(Long userId);
     Optional<Patient> findByPatientCode(String patientCode);
-    List<Patient> findByFullNameContainingOrPatientCodeContaining(String fullName, String patientCode);
+    Slice<Patient> findByFullNameContainingOrPatientCodeContaining(String fullName, String patientCode, Pageable pageable);
+    // (id, mã, họ tên) theo lô tăng dần id để nạp chỉ mục tìm kiếm
+    @Query("SELECT p.id, p.patientCode, p.fullName FROM Patient p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchKeys(@Param("afterId") Long afterId, Pageable pageable);
+    // Dòng sửa từ mốc since (kể cả từ node khác), để làm mới chỉ mục định kỳ
+    @Query("SELECT p.id, p.patientCode, p.fullName FROM Patient p WHERE p.updatedAt >= :since AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchKeysUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+    // Id theo lô tăng dần, để bỏ khỏi chỉ mục các dòng đã bị xóa
+    @Query("SELECT p.id FROM Patient p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
     boolean existsByPatientCode(String patientCode);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
+    // Một trang không kèm truy vấn đếm tổng số dòng
+    Slice<Patient> findAllBy(Pageable pageable);
 } 
\ No newline at end of file
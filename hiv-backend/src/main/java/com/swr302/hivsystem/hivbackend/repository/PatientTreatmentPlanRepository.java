@@ -1,14 +1,39 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
+import com.swr302.hivsystem.hivbackend.model.ArvProtocol;
+import com.swr302.hivsystem.hivbackend.model.Doctor;
+import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.model.PatientTreatmentPlan;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PatientTreatmentPlanRepository extends JpaRepository<PatientTreatmentPlan, Long> {
+public interface PatientTreatmentPlanRepository extends JpaRepository<PatientTreatmentPlan, Long>, JpaSpecificationExecutor<PatientTreatmentPlan> {
+    @Override
+    @EntityGraph(value = PatientTreatmentPlan.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
+    Optional<PatientTreatmentPlan> findById(Long id);
+    @EntityGraph(value = PatientTreatmentPlan.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<PatientTreatmentPlan> findByDoctorId(Long doctorId);
+    @EntityGraph(value = PatientTreatmentPlan.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<PatientTreatmentPlan> findByPatientId(Long patientId);
+    @EntityGraph(value = PatientTreatmentPlan.GRAPH_DETAILS, type = EntityGraph.EntityGraphType.LOAD)
     List<PatientTreatmentPlan> findByDoctorIdAndPatientId(Long doctorId, Long patientId);
-} 
\ No newline at end of file
+
+    // Cột của TreatmentPlanSummaryDTO theo thứ tự constructor, dùng với SummaryQueryExecutor
+    static List<Selection<?>> summaryColumns(Root<PatientTreatmentPlan> tp) {
+        Join<PatientTreatmentPlan, Patient> p = tp.join("patient");
+        Join<PatientTreatmentPlan, Doctor> d = tp.join("doctor");
+        Join<PatientTreatmentPlan, ArvProtocol> ap = tp.join("arvProtocol");
+        return List.of(tp.get("id"), tp.get("startDate"), tp.get("endDate"), tp.get("notes"), tp.get("createdAt"), tp.get("updatedAt"),
+                p.get("id"), p.get("patientCode"), p.get("fullName"), p.get("dateOfBirth"), p.get("email"), p.get("phoneNumber"),
+                d.get("id"), d.get("doctorCode"), d.get("fullName"), d.get("specialization"), ap.get("id"), ap.get("name"));
+    }
+}
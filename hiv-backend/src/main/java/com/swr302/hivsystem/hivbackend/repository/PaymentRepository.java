@@ -1,9 +1,25 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
+import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.model.Payment;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
-} 
\ No newline at end of file
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
+
+    // Cột của PaymentSummaryDTO theo thứ tự constructor, dùng với SummaryQueryExecutor
+    static List<Selection<?>> summaryColumns(Root<Payment> pm) {
+        Join<Payment, Patient> p = pm.join("patient");
+        return List.of(pm.get("id"), pm.get("amount"), pm.get("method"), pm.get("status"), pm.get("paymentDate"),
+                pm.get("notes"), pm.get("createdAt"), pm.get("updatedAt"),
+                p.get("id"), p.get("patientCode"), p.get("fullName"), p.get("dateOfBirth"), p.get("email"), p.get("phoneNumber"),
+                pm.get("onlineConsultation").get("id"), pm.get("labBooking").get("id"));
+    }
+}
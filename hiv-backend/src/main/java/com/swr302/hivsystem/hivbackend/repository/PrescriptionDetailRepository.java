@@ -1,7 +1,32 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.PrescriptionDetail;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface PrescriptionDetailRepository extends JpaRepository<PrescriptionDetail, Long> {
-} 
\ No newline at end of file
+    // Id các liệu trình còn liều chưa ghi xuống DB và nằm trong cửa sổ cần sinh thêm, theo lô tăng dần id
+    @Query("SELECT d.id FROM PrescriptionDetail d " +
+           "WHERE d.scheduledUntil < d.scheduleEndDate AND d.scheduledUntil < :horizon AND d.id > :afterId ORDER BY d.id")
+    List<Long> findPendingMaterializationIds(@Param("horizon") LocalDate horizon, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @Query("SELECT d FROM PrescriptionDetail d JOIN FETCH d.prescription p JOIN FETCH p.treatmentPlan WHERE d.id IN :ids")
+    List<PrescriptionDetail> findWithPrescriptionByIdIn(@Param("ids") List<Long> ids);
+
+    // Nhận phần lịch [from, to) của liệu trình: chỉ một node thành công với cùng giá trị from
+    @Modifying
+    @Query("UPDATE PrescriptionDetail d SET d.scheduledUntil = :to WHERE d.id = :id AND d.scheduledUntil = :from")
+    int claimWindow(@Param("id") Long id, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Các liệu trình của bệnh nhân còn liều chưa ghi xuống DB
+    @Query("SELECT d FROM PrescriptionDetail d JOIN FETCH d.medication " +
+           "WHERE d.prescription.treatmentPlan.patient.id = :patientId AND d.scheduledUntil < d.scheduleEndDate")
+    List<PrescriptionDetail> findUnmaterializedByPatientId(@Param("patientId") Long patientId);
+}
@@ -1,15 +1,23 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
 import com.swr302.hivsystem.hivbackend.model.Prescription;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
+public interface PrescriptionRepository extends JpaRepository<Prescription, Long>, JpaSpecificationExecutor<Prescription> {
+    @Override
+    @EntityGraph(attributePaths = {"treatmentPlan.patient", "treatmentPlan.doctor", "treatmentPlan.arvProtocol"},
+            type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Prescription> findById(Long id);
+    @EntityGraph(value = Prescription.GRAPH_TREATMENT_PLAN, type = EntityGraph.EntityGraphType.LOAD)
     @Query("SELECT p FROM Prescription p WHERE p.treatmentPlan.patient.id = :patientId")
     List<Prescription> findByPatientId(@Param("patientId") Long patientId);
 } 
\ No newline at end of file
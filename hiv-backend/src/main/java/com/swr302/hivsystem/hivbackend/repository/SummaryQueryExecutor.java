@@ -0,0 +1,65 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs a list filter built from FilterSpecifications as a constructor projection
+ * (select new ...), so list endpoints share the filters of their /scroll
+ * variants. Only the filters actually given end up in the SQL, giving one
+ * query shape (and one cached plan) per filter combination.
+ */
+@Repository
+public class SummaryQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Lấy size + 1 dòng để biết còn trang sau, không đếm
+    public <T, D> Slice<D> findSlice(Class<T> domainClass, Specification<T> specification, Class<D> projection,
+                                     Function<Root<T>, List<Selection<?>>> columns, Pageable pageable) {
+        TypedQuery<D> query = createQuery(domainClass, specification, projection, columns, pageable.getSort());
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<D> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    public <T, D> List<D> findAll(Class<T> domainClass, Specification<T> specification, Class<D> projection,
+                                  Function<Root<T>, List<Selection<?>>> columns, Sort sort) {
+        return createQuery(domainClass, specification, projection, columns, sort).getResultList();
+    }
+
+    private <T, D> TypedQuery<D> createQuery(Class<T> domainClass, Specification<T> specification, Class<D> projection,
+                                             Function<Root<T>, List<Selection<?>>> columns, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(projection);
+        Root<T> root = query.from(domainClass);
+        query.select(cb.construct(projection, columns.apply(root).toArray(new Selection<?>[0])));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,24 +1,81 @@
 package com.swr302.hivsystem.hivbackend.repository;
 
+import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+import com.swr302.hivsystem.hivbackend.model.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TreatmentReminderRepository extends JpaRepository<TreatmentReminder, Long> {
-    List<TreatmentReminder> findByStatusAndReminderDateBefore(String status, LocalDateTime dateTime);
+public interface TreatmentReminderRepository extends JpaRepository<TreatmentReminder, Long>, JpaSpecificationExecutor<TreatmentReminder>, TreatmentReminderRepositoryCustom {
+    // Một lô nhắc nhở đến hạn chưa bị node nào giữ (hoặc đã hết hạn giữ), cũ nhất trước
+    @Query("SELECT tr.id FROM TreatmentReminder tr WHERE tr.status = :status AND tr.reminderDate < :before " +
+           "AND (tr.leaseExpiresAt IS NULL OR tr.leaseExpiresAt < :now) ORDER BY tr.reminderDate, tr.id")
+    List<Long> findClaimableIds(@Param("status") String status, @Param("before") LocalDateTime before,
+                                @Param("now") LocalDateTime now, Pageable pageable);
+    // Giữ cả lô cho một node; điều kiện được kiểm tra lại trong UPDATE nên mỗi dòng chỉ một node nhận được
+    @Transactional
+    @Modifying
+    @Query("UPDATE TreatmentReminder tr SET tr.ownerNode = :node, tr.leaseExpiresAt = :leaseUntil " +
+           "WHERE tr.id IN :ids AND tr.status = :status AND (tr.leaseExpiresAt IS NULL OR tr.leaseExpiresAt < :now)")
+    int claim(@Param("ids") List<Long> ids, @Param("status") String status, @Param("node") String node,
+              @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+    @Query("SELECT tr FROM TreatmentReminder tr WHERE tr.id IN :ids AND tr.ownerNode = :node AND tr.status = :status")
+    List<TreatmentReminder> findClaimed(@Param("ids") List<Long> ids, @Param("node") String node, @Param("status") String status);
+    // Đổi trạng thái các nhắc nhở node đang giữ và trả lại lease
+    @Transactional
+    @Modifying
+    @Query("UPDATE TreatmentReminder tr SET tr.status = :newStatus, tr.leaseExpiresAt = null, tr.updatedAt = :now " +
+           "WHERE tr.id IN :ids AND tr.ownerNode = :node AND tr.status = :currentStatus")
+    int completeClaimed(@Param("ids") List<Long> ids, @Param("node") String node, @Param("currentStatus") String currentStatus,
+                        @Param("newStatus") String newStatus, @Param("now") LocalDateTime now);
     @Transactional
     @Modifying
     @Query("DELETE FROM TreatmentReminder tr WHERE tr.patient.id = :patientId AND tr.reminderType = :reminderType")
     void deleteAllMedicationRemindersByPatient(Long patientId, String reminderType);
+    // Xóa một lần các nhắc nhở của bệnh nhân theo loại, giữ lại các nhắc nhở có trạng thái excludedStatus
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TreatmentReminder tr WHERE tr.patient.id = :patientId AND tr.reminderType = :reminderType " +
+           "AND UPPER(tr.status) <> :excludedStatus")
+    int deleteByPatientAndTypeExceptStatus(@Param("patientId") Long patientId, @Param("reminderType") String reminderType,
+                                           @Param("excludedStatus") String excludedStatus);
     List<TreatmentReminder> findByPatient_Id(Long patientId);
     List<TreatmentReminder> findByPatient_IdAndStatus(Long patientId, String status);
     List<TreatmentReminder> findByPatient_IdAndReminderType(Long patientId, String reminderType);
     List<TreatmentReminder> findByPatient_IdAndStatusAndReminderType(Long patientId, String status, String reminderType);
     List<TreatmentReminder> findByPatient_IdAndReminderTypeAndReminderDate(Long patientId, String reminderType, LocalDateTime reminderDate);
-} 
\ No newline at end of file
+    // Thời điểm các nhắc nhở đã có của bệnh nhân sau một mốc (kiểm tra trùng trong bộ nhớ)
+    @Query("SELECT tr.reminderDate FROM TreatmentReminder tr WHERE tr.patient.id = :patientId " +
+           "AND tr.reminderType = :reminderType AND tr.reminderDate > :after")
+    List<LocalDateTime> findReminderDates(@Param("patientId") Long patientId, @Param("reminderType") String reminderType,
+                                          @Param("after") LocalDateTime after);
+    // (patientId, createdById) của các bệnh nhân còn nhắc nhở loại này chưa bị xóa (chưa hoàn thành)
+    @Query("SELECT tr.patient.id, MAX(tr.createdBy.id) FROM TreatmentReminder tr WHERE tr.patient.id IN :patientIds " +
+           "AND tr.reminderType = :reminderType AND UPPER(tr.status) <> :excludedStatus GROUP BY tr.patient.id")
+    List<Object[]> findReminderCreators(@Param("patientIds") Collection<Long> patientIds,
+                                        @Param("reminderType") String reminderType,
+                                        @Param("excludedStatus") String excludedStatus);
+
+    // Cột của TreatmentReminderSummaryDTO theo thứ tự constructor, dùng với SummaryQueryExecutor
+    static List<Selection<?>> summaryColumns(Root<TreatmentReminder> tr) {
+        Join<TreatmentReminder, Patient> p = tr.join("patient");
+        Join<TreatmentReminder, User> u = tr.join("createdBy");
+        return List.of(tr.get("id"), tr.get("reminderType"), tr.get("reminderDate"), tr.get("status"),
+                tr.get("createdAt"), tr.get("updatedAt"),
+                p.get("id"), p.get("patientCode"), p.get("fullName"), p.get("dateOfBirth"), p.get("email"), p.get("phoneNumber"),
+                u.get("id"), u.get("username"), u.get("fullName"));
+    }
+}
@@ -0,0 +1,10 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+
+import java.util.List;
+
+public interface TreatmentReminderRepositoryCustom {
+    // Ghi nhắc nhở theo lô JDBC; bỏ qua các dòng trùng (patient, loại, thời gian) và trả về số dòng đã ghi
+    int batchInsert(List<TreatmentReminder> reminders);
+}
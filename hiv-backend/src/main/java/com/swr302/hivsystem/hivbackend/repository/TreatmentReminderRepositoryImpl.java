@@ -0,0 +1,55 @@
+package com.swr302.hivsystem.hivbackend.repository;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class TreatmentReminderRepositoryImpl implements TreatmentReminderRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO treatment_reminders " +
+            "(created_by_id, patient_id, reminder_type, reminder_date, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<TreatmentReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, reminders, BATCH_SIZE, this::bind);
+            return reminders.size();
+        } catch (DuplicateKeyException e) {
+            // Một request khác vừa ghi cùng nhắc nhở: ghi lại từng dòng và bỏ qua dòng trùng
+            int inserted = 0;
+            for (TreatmentReminder reminder : reminders) {
+                try {
+                    inserted += jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, reminder));
+                } catch (DuplicateKeyException duplicate) {
+                    // Đã tồn tại
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private void bind(PreparedStatement ps, TreatmentReminder reminder) throws SQLException {
+        ps.setLong(1, reminder.getCreatedBy().getId());
+        ps.setLong(2, reminder.getPatient().getId());
+        ps.setString(3, reminder.getReminderType());
+        ps.setTimestamp(4, Timestamp.valueOf(reminder.getReminderDate()));
+        ps.setString(5, reminder.getStatus());
+        ps.setTimestamp(6, Timestamp.valueOf(reminder.getCreatedAt()));
+        ps.setTimestamp(7, Timestamp.valueOf(reminder.getUpdatedAt()));
+    }
+}
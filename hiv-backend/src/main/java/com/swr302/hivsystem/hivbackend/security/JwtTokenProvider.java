@@ -1,7 +1,11 @@
 package com.swr302.hivsystem.hivbackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swr302.hivsystem.hivbackend.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,20 +13,47 @@ import org.springframework.stereotype.Component;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String ROLES_CLAIM = "roles";
+
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwt-secret}")
     private String jwtSecret;
 
     @Value("${app.jwt-expiration-milliseconds}")
     private int jwtExpirationInMs;
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Số token đã xác thực được giữ lại để bỏ qua bước kiểm tra chữ ký HMAC
+    @Value("${app.jwt-verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    @Value("${app.jwt-verified-cache-ttl-milliseconds:60000}")
+    private long verifiedCacheTtlInMs;
+
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        // Caffeine không khóa toàn cục khi đọc, phù hợp với đường xác thực của mọi request
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofMillis(verifiedCacheTtlInMs))
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -34,43 +65,71 @@ public class JwtTokenProvider {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("roles", roles)
+                .claim(ROLES_CLAIM, roles);
+        if (userDetails instanceof User user) {
+            builder.claim(USER_ID_CLAIM, user.getId());
+        }
+
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(expireDate)
-                .signWith(key())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Parses and verifies the token once and returns its claims, or null when the
+     * token is malformed, expired or carries a bad signature. Recently verified
+     * tokens are served from a small bounded cache until their TTL or expiry.
+     */
+    public Claims parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.validUntil > now) {
+                return cached.claims;
+            }
+            verifiedTokens.invalidate(token);
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            long validUntil = now + verifiedCacheTtlInMs;
+            if (claims.getExpiration() != null) {
+                validUntil = Math.min(validUntil, claims.getExpiration().getTime());
+            }
+            verifiedTokens.put(token, new VerifiedToken(claims, validUntil));
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromJWT(String token) {
+        Claims claims = parseToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     public String getRolesFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return (String) claims.get("roles");
+        Claims claims = parseToken(token);
+        return claims != null ? claims.get(ROLES_CLAIM, String.class) : null;
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long validUntil;
+
+        private VerifiedToken(Claims claims, long validUntil) {
+            this.claims = claims;
+            this.validUntil = validUntil;
+        }
     }
-} 
\ No newline at end of file
+}
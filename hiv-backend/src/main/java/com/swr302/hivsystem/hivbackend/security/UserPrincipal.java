@@ -0,0 +1,76 @@
+package com.swr302.hivsystem.hivbackend.security;
+
+import com.swr302.hivsystem.hivbackend.model.User;
+import com.swr302.hivsystem.hivbackend.model.UserStatus;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Principal gọn nhẹ cho các request đã xác thực bằng JWT (không giữ entity User)
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final UserStatus status;
+
+    public UserPrincipal(Long id, String username, List<GrantedAuthority> authorities, UserStatus status) {
+        this.id = id;
+        this.username = username;
+        this.authorities = authorities;
+        this.status = status;
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        List<GrantedAuthority> authorities = user.getRole() != null
+                ? Collections.singletonList(new SimpleGrantedAuthority(user.getRole().getRoleName()))
+                : Collections.emptyList();
+        return new UserPrincipal(user.getId(), user.getUsername(), authorities, user.getStatus());
+    }
+
+    public static UserPrincipal fromClaims(Claims claims) {
+        String roles = claims.get(JwtTokenProvider.ROLES_CLAIM, String.class);
+        List<GrantedAuthority> authorities = roles == null || roles.isEmpty()
+                ? Collections.emptyList()
+                : Arrays.stream(roles.split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+        Number userId = claims.get(JwtTokenProvider.USER_ID_CLAIM, Number.class);
+        return new UserPrincipal(userId != null ? userId.longValue() : null, claims.getSubject(), authorities, UserStatus.ACTIVE);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return status != UserStatus.INACTIVE;
+    }
+}
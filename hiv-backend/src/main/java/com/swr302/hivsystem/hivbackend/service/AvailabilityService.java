@@ -0,0 +1,185 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
+import com.swr302.hivsystem.hivbackend.model.DoctorSchedule;
+import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
+import com.swr302.hivsystem.hivbackend.repository.DoctorScheduleRepository;
+import com.swr302.hivsystem.hivbackend.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Free 30-minute appointment slots per doctor per day, derived from the weekly
+ * DoctorSchedule and the booked appointment times. Each day is cached until an
+ * appointment or schedule of that doctor changes.
+ */
+@Service
+public class AvailabilityService {
+
+    public static final int SLOT_MINUTES = 30;
+
+    @Autowired
+    private DoctorScheduleRepository doctorScheduleRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Request đồng thời cho cùng bác sĩ/ngày chờ chung một lần tính khi cache chưa có
+    @SingleFlight
+    public DayAvailability getDayAvailability(Long doctorId, LocalDate date) {
+        return getAvailability(Collections.singletonList(doctorId), date, date).get(doctorId).get(date);
+    }
+
+    // Lịch trống của nhiều bác sĩ trong khoảng ngày [from, to]; các ngày chưa có trong cache được tính bằng 2 truy vấn
+    @SingleFlight
+    public Map<Long, Map<LocalDate, DayAvailability>> getAvailability(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        Cache cache = availabilityCache();
+        Map<Long, Map<LocalDate, DayAvailability>> result = new LinkedHashMap<>();
+        Set<Long> missingDoctors = new HashSet<>();
+        for (Long doctorId : doctorIds) {
+            Map<LocalDate, DayAvailability> days = new LinkedHashMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                DayAvailability cached = cache.get(key(doctorId, date), DayAvailability.class);
+                days.put(date, cached);
+                if (cached == null) {
+                    missingDoctors.add(doctorId);
+                }
+            }
+            result.put(doctorId, days);
+        }
+        if (missingDoctors.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<DoctorSchedule>> schedulesByDoctor = new HashMap<>();
+        for (DoctorSchedule schedule : doctorScheduleRepository.findByDoctorIdIn(missingDoctors)) {
+            schedulesByDoctor.computeIfAbsent(schedule.getDoctor().getId(), k -> new ArrayList<>()).add(schedule);
+        }
+        Map<String, Set<LocalTime>> bookedByDay = new HashMap<>();
+        for (Object[] row : appointmentRepository.findBookedTimes(missingDoctors, from, to)) {
+            bookedByDay.computeIfAbsent(key((Long) row[0], (LocalDate) row[1]), k -> new HashSet<>()).add((LocalTime) row[2]);
+        }
+
+        for (Long doctorId : missingDoctors) {
+            List<DoctorSchedule> schedules = schedulesByDoctor.getOrDefault(doctorId, Collections.emptyList());
+            for (Map.Entry<LocalDate, DayAvailability> day : result.get(doctorId).entrySet()) {
+                if (day.getValue() != null) continue;
+                String key = key(doctorId, day.getKey());
+                DayAvailability availability = compute(schedules, day.getKey(),
+                        bookedByDay.getOrDefault(key, Collections.emptySet()));
+                cache.put(key, availability);
+                day.setValue(availability);
+            }
+        }
+        return result;
+    }
+
+    // Gọi khi lịch hẹn của bác sĩ trong ngày được tạo/sửa/xóa; xóa sau khi giao dịch commit
+    public void evict(Long doctorId, LocalDate date) {
+        if (doctorId != null && date != null) {
+            afterCommit(() -> availabilityCache().evict(key(doctorId, date)));
+        }
+    }
+
+    // Gọi khi lịch làm việc hàng tuần của bác sĩ thay đổi
+    @SuppressWarnings("unchecked")
+    public void evictDoctor(Long doctorId) {
+        if (doctorId == null) {
+            return;
+        }
+        String prefix = doctorId + ":";
+        afterCommit(() -> {
+            Object nativeCache = availabilityCache().getNativeCache();
+            if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+                ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet()
+                        .removeIf(k -> k.toString().startsWith(prefix));
+            } else {
+                availabilityCache().clear();
+            }
+        });
+    }
+
+    // Xóa trước commit thì request đọc song song có thể nạp lại trạng thái cũ vào cache
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private DayAvailability compute(List<DoctorSchedule> schedules, LocalDate date, Set<LocalTime> booked) {
+        List<LocalTime> slots = new ArrayList<>();
+        BitSet free = new BitSet();
+        for (DoctorSchedule schedule : schedules) {
+            if (schedule.getDayOfWeek() != date.getDayOfWeek()) continue;
+            LocalTime time = schedule.getStartTime();
+            while (time.isBefore(schedule.getEndTime())) {
+                if (!booked.contains(time)) {
+                    free.set(slots.size());
+                }
+                slots.add(time);
+                LocalTime next = time.plusMinutes(SLOT_MINUTES);
+                if (next.isBefore(time)) break; // qua nửa đêm
+                time = next;
+            }
+        }
+        return new DayAvailability(slots, free);
+    }
+
+    private static String key(Long doctorId, LocalDate date) {
+        return doctorId + ":" + date;
+    }
+
+    private Cache availabilityCache() {
+        return cacheManager.getCache(CacheConfig.DOCTOR_AVAILABILITY);
+    }
+
+    // Các slot trong ngày theo thứ tự và bitset đánh dấu slot còn trống
+    public static final class DayAvailability {
+        private final List<LocalTime> slots;
+        private final BitSet free;
+
+        private DayAvailability(List<LocalTime> slots, BitSet free) {
+            this.slots = Collections.unmodifiableList(slots);
+            this.free = free;
+        }
+
+        public List<LocalTime> getSlots() {
+            return slots;
+        }
+
+        public boolean isFree(int index) {
+            return free.get(index);
+        }
+
+        public int getFreeCount() {
+            return free.cardinality();
+        }
+    }
+}
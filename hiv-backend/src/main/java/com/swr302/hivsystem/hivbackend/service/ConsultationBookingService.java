@@ -0,0 +1,122 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.dto.ConsultationRequestDTO;
+import com.swr302.hivsystem.hivbackend.exception.ResourceNotFoundException;
+import com.swr302.hivsystem.hivbackend.exception.TimeSlotAlreadyBookedException;
+import com.swr302.hivsystem.hivbackend.model.Appointment;
+import com.swr302.hivsystem.hivbackend.model.ConsultationTimeSlot;
+import com.swr302.hivsystem.hivbackend.model.ConsultationType;
+import com.swr302.hivsystem.hivbackend.model.Doctor;
+import com.swr302.hivsystem.hivbackend.model.MedicalService;
+import com.swr302.hivsystem.hivbackend.model.OnlineConsultation;
+import com.swr302.hivsystem.hivbackend.model.Patient;
+import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
+import com.swr302.hivsystem.hivbackend.repository.ConsultationTimeSlotRepository;
+import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
+import com.swr302.hivsystem.hivbackend.repository.OnlineConsultationRepository;
+import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+public class ConsultationBookingService {
+
+    @Autowired
+    private OnlineConsultationRepository onlineConsultationRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private ConsultationTimeSlotRepository consultationTimeSlotRepository;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MeetingLinkService meetingLinkService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Books a consultation slot and creates its appointment and online consultation
+     * in one transaction. The slot is claimed first with a conditional UPDATE, so
+     * of several concurrent requests for the same slot exactly one succeeds and
+     * the others fail fast with TimeSlotAlreadyBookedException. The patient is the
+     * profile of the authenticated user.
+     */
+    @Transactional
+    public OnlineConsultation book(ConsultationRequestDTO requestDTO, Long userId) {
+        // Đánh dấu slot đã được đặt (chỉ thành công nếu slot còn trống)
+        int updated;
+        try {
+            updated = consultationTimeSlotRepository.markBooked(requestDTO.getTimeSlotId(), LocalDateTime.now());
+        } catch (PessimisticLockingFailureException e) {
+            // Hết thời gian chờ khóa: một giao dịch khác đang đặt chính slot này
+            throw new TimeSlotAlreadyBookedException("Time slot " + requestDTO.getTimeSlotId() + " is already booked");
+        }
+        if (updated == 0) {
+            if (!consultationTimeSlotRepository.existsById(requestDTO.getTimeSlotId())) {
+                throw new ResourceNotFoundException("Time slot not found with id: " + requestDTO.getTimeSlotId());
+            }
+            throw new TimeSlotAlreadyBookedException("Time slot " + requestDTO.getTimeSlotId() + " is already booked");
+        }
+        ConsultationTimeSlot timeSlot = consultationTimeSlotRepository.findById(requestDTO.getTimeSlotId())
+                .orElseThrow(() -> new ResourceNotFoundException("Time slot not found with id: " + requestDTO.getTimeSlotId()));
+        Doctor doctor = doctorRepository.findById(requestDTO.getDoctorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + requestDTO.getDoctorId()));
+
+        MedicalService medicalService = referenceDataService.getDefaultMedicalService();
+        if (medicalService == null) {
+            throw new IllegalStateException("No medical service configured");
+        }
+
+        // Bệnh nhân là người dùng đang đăng nhập
+        Patient patient = patientRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient profile not found for user id: " + userId));
+
+        Long consultationTypeId = requestDTO.getConsultationTypeId() != null ? requestDTO.getConsultationTypeId() : 1L;
+        ConsultationType consultationType = referenceDataService.getConsultationType(consultationTypeId);
+        if (consultationType == null) {
+            throw new ResourceNotFoundException("Consultation type not found with id: " + consultationTypeId);
+        }
+
+        // Create an Appointment object
+        Appointment newAppointment = new Appointment();
+        newAppointment.setDoctor(doctor);
+        newAppointment.setAppointmentDate(requestDTO.getDate());
+        newAppointment.setAppointmentTime(timeSlot.getStartTime().toLocalTime());
+        newAppointment.setStatus("Scheduled");
+        newAppointment.setMedicalService(medicalService);
+        newAppointment.setPatient(patient);
+        Appointment savedAppointment = appointmentRepository.save(newAppointment);
+        availabilityService.evict(doctor.getId(), savedAppointment.getAppointmentDate());
+
+        // Create OnlineConsultation object
+        OnlineConsultation onlineConsultation = new OnlineConsultation();
+        onlineConsultation.setAppointment(savedAppointment);
+        onlineConsultation.setConsultationType(consultationType);
+        onlineConsultation.setStartTime(timeSlot.getStartTime());
+        onlineConsultation.setEndTime(timeSlot.getEndTime());
+        onlineConsultation.setNotes(requestDTO.getNotes());
+
+        // Tự động tạo link meet
+        onlineConsultation.setMeetingLink(meetingLinkService.generateMeetingLink(
+                doctor.getFullName(),
+                patient.getFullName(),
+                timeSlot.getStartTime()
+        ));
+        return onlineConsultationRepository.save(onlineConsultation);
+    }
+}
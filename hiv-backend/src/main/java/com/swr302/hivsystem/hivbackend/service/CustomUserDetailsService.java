@@ -1,18 +1,19 @@
 package com.swr302.hivsystem.hivbackend.service;
 
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
 import com.swr302.hivsystem.hivbackend.model.User;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
+import com.swr302.hivsystem.hivbackend.security.JwtTokenProvider;
+import com.swr302.hivsystem.hivbackend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -20,6 +21,13 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Tắt cache thì principal được dựng hoàn toàn từ JWT; khi đó khóa tài khoản chỉ có hiệu lực khi token hết hạn
+    @Value("${app.security.user-cache-enabled:true}")
+    private boolean userCacheEnabled;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -27,4 +35,29 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return user;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Resolves the principal for an already verified token. With the user cache
+     * enabled the database is read at most once per TTL per user, so status and
+     * role changes still apply quickly; otherwise the claims alone are used.
+     */
+    public UserPrincipal loadPrincipal(Claims claims) {
+        if (!userCacheEnabled && claims.get(JwtTokenProvider.USER_ID_CLAIM) != null) {
+            return UserPrincipal.fromClaims(claims);
+        }
+        String username = claims.getSubject();
+        return principalCache().get(username, () -> userRepository.findByUsername(username)
+                .map(UserPrincipal::fromUser)
+                .orElse(null));
+    }
+
+    public void evictUser(String username) {
+        if (username != null) {
+            principalCache().evict(username);
+        }
+    }
+
+    private Cache principalCache() {
+        return cacheManager.getCache(CacheConfig.USER_PRINCIPALS);
+    }
+}
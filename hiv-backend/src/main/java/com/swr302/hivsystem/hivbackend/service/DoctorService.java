@@ -2,6 +2,9 @@ package com.swr302.hivsystem.hivbackend.service;
 
 import com.swr302.hivsystem.hivbackend.dto.DoctorDTO;
 import com.swr302.hivsystem.hivbackend.model.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 public interface DoctorService {
@@ -12,10 +15,11 @@ public interface DoctorService {
     List<DoctorDTO> getAllDoctors();
     DoctorDTO getDoctorByDoctorCode(String doctorCode);
     List<DoctorDTO> getDoctorsBySpecialization(String specialization);
-    List<DoctorDTO> searchDoctors(String keyword);
+    Slice<DoctorDTO> searchDoctors(String keyword, Pageable pageable);
     boolean existsByDoctorCode(String doctorCode);
     boolean existsByLicenseNumber(String licenseNumber);
     boolean existsByEmail(String email);
     Doctor getDoctorByUserId(Long userId);
+    DoctorDTO getDoctorProfileByUserId(Long userId);
     DoctorDTO deactivateDoctor(Long id);
 } 
\ No newline at end of file
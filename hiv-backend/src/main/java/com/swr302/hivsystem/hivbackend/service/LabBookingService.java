@@ -3,56 +3,127 @@ package com.swr302.hivsystem.hivbackend.service;
 import com.swr302.hivsystem.hivbackend.model.LabBooking;
 import com.swr302.hivsystem.hivbackend.repository.LabBookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class LabBookingService {
 
     private final LabBookingRepository labBookingRepository;
+    private final LabSlotCapacityService labSlotCapacityService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public LabBookingService(LabBookingRepository labBookingRepository) {
+    public LabBookingService(LabBookingRepository labBookingRepository, LabSlotCapacityService labSlotCapacityService,
+                             PlatformTransactionManager transactionManager) {
         this.labBookingRepository = labBookingRepository;
+        this.labSlotCapacityService = labSlotCapacityService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<LabBooking> getAllLabBookings() {
         return labBookingRepository.findAll();
     }
 
+    // Mới nhất trước; id giữ thứ tự ổn định giữa các trang
+    public Slice<LabBooking> getLabBookingsByPatient(Long patientId, Pageable pageable) {
+        Sort order = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "id"));
+        return labBookingRepository.findByPatientId(patientId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), order));
+    }
+
     public Optional<LabBooking> getLabBookingById(Long id) {
         return labBookingRepository.findById(id);
     }
 
+    // Giữ chỗ trong khung giờ trước khi lưu; hết chỗ thì ném LabSlotFullException
     public LabBooking createLabBooking(LabBooking labBooking) {
-        return labBookingRepository.save(labBooking);
+        prepareSlot(labBooking);
+        return transactionTemplate.execute(status -> {
+            if (LabSlotCapacityService.holdsSlot(labBooking)) {
+                labSlotCapacityService.reserve(labBooking.getDate(), labBooking.getTimeSlotId());
+            }
+            return labBookingRepository.save(labBooking);
+        });
     }
 
     public LabBooking updateLabBooking(Long id, LabBooking labBookingDetails) {
-        LabBooking labBooking = labBookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("LabBooking not found with id " + id));
+        prepareSlot(labBookingDetails);
+        return transactionTemplate.execute(status -> {
+            LabBooking labBooking = labBookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("LabBooking not found with id " + id));
+            moveSlot(labBooking, labBookingDetails);
 
-        labBooking.setPatientId(labBookingDetails.getPatientId());
-        labBooking.setTestTypeId(labBookingDetails.getTestTypeId());
-        labBooking.setDate(labBookingDetails.getDate());
-        labBooking.setTimeSlotId(labBookingDetails.getTimeSlotId());
-        labBooking.setNotes(labBookingDetails.getNotes());
-        labBooking.setStatus(labBookingDetails.getStatus());
+            labBooking.setPatientId(labBookingDetails.getPatientId());
+            labBooking.setTestTypeId(labBookingDetails.getTestTypeId());
+            labBooking.setDate(labBookingDetails.getDate());
+            labBooking.setTimeSlotId(labBookingDetails.getTimeSlotId());
+            labBooking.setNotes(labBookingDetails.getNotes());
+            labBooking.setStatus(labBookingDetails.getStatus());
 
-        return labBookingRepository.save(labBooking);
+            return labBookingRepository.save(labBooking);
+        });
     }
 
     public void deleteLabBooking(Long id) {
-        labBookingRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            LabBooking labBooking = labBookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("LabBooking not found with id " + id));
+            if (LabSlotCapacityService.holdsSlot(labBooking)) {
+                labSlotCapacityService.release(labBooking.getDate(), labBooking.getTimeSlotId());
+            }
+            labBookingRepository.delete(labBooking);
+        });
     }
 
     public LabBooking updateLabBookingStatus(Long id, String status) {
-        LabBooking labBooking = labBookingRepository.findById(id)
+        LabBooking current = labBookingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("LabBooking not found with id " + id));
+        LabBooking target = new LabBooking();
+        target.setDate(current.getDate());
+        target.setTimeSlotId(current.getTimeSlotId());
+        target.setStatus(status);
+        prepareSlot(target);
+
+        return transactionTemplate.execute(tx -> {
+            LabBooking labBooking = labBookingRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("LabBooking not found with id " + id));
+            moveSlot(labBooking, target);
+
+            labBooking.setStatus(status);
+            return labBookingRepository.save(labBooking);
+        });
+    }
+
+    // Dòng capacity được tạo trước khi mở giao dịch đặt chỗ (tránh giữ 2 kết nối cùng lúc)
+    private void prepareSlot(LabBooking target) {
+        if (LabSlotCapacityService.holdsSlot(target)) {
+            labSlotCapacityService.prepare(target.getDate(), target.getTimeSlotId());
+        }
+    }
 
-        labBooking.setStatus(status);
-        return labBookingRepository.save(labBooking);
+    // Chuyển chỗ giữ khi đổi ngày/khung giờ hoặc hủy: giữ chỗ mới trước, rồi mới trả chỗ cũ
+    private void moveSlot(LabBooking current, LabBooking target) {
+        boolean held = LabSlotCapacityService.holdsSlot(current);
+        boolean holds = LabSlotCapacityService.holdsSlot(target);
+        if (held && holds && Objects.equals(current.getDate(), target.getDate())
+                && Objects.equals(current.getTimeSlotId(), target.getTimeSlotId())) {
+            return;
+        }
+        if (holds) {
+            labSlotCapacityService.reserve(target.getDate(), target.getTimeSlotId());
+        }
+        if (held) {
+            labSlotCapacityService.release(current.getDate(), current.getTimeSlotId());
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.exception.LabSlotFullException;
+import com.swr302.hivsystem.hivbackend.exception.ResourceNotFoundException;
+import com.swr302.hivsystem.hivbackend.model.LabBooking;
+import com.swr302.hivsystem.hivbackend.model.LabSlotCapacity;
+import com.swr302.hivsystem.hivbackend.repository.LabBookingRepository;
+import com.swr302.hivsystem.hivbackend.repository.LabSlotCapacityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Capacity of the fixed lab test time slots, per date and slot. Each
+ * (date, slot) pair has a lab_slot_capacities row holding its capacity and
+ * booked count; a booking claims a place with a conditional UPDATE that only
+ * succeeds while booked < capacity, so concurrent bookings can never overfill a
+ * slot. The row is created by prepare() before the booking transaction starts,
+ * seeded with the bookings that already exist for that slot.
+ *
+ * Reads are served from in-memory counters, one atomic cell per slot of a
+ * date, updated after each booking transaction commits and reloaded from the
+ * database every few seconds so that other instances' bookings show up. The
+ * counters only serve reads: reserve() always goes through the conditional
+ * UPDATE, so a place freed on another instance is never refused because this
+ * instance's copy is stale.
+ */
+@Service
+public class LabSlotCapacityService {
+
+    // Khung giờ xét nghiệm cố định; timeSlotId = vị trí trong danh sách + 1
+    public static final List<String> SLOT_TIMES = Collections.unmodifiableList(Arrays.asList(
+            "07:00", "08:00", "09:00", "10:00", "11:00", "13:00", "14:00", "15:00", "16:00"));
+
+    @Autowired
+    private LabSlotCapacityRepository labSlotCapacityRepository;
+
+    @Autowired
+    private LabBookingRepository labBookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.lab.slot-capacity:5}")
+    private int slotCapacity;
+
+    @Value("${app.lab.slot-counters.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    private final ConcurrentMap<LocalDate, DayCounters> counters = new ConcurrentHashMap<>();
+
+    // Lượt đặt đang giữ chỗ: có khung giờ và chưa bị hủy
+    public static boolean holdsSlot(LabBooking labBooking) {
+        String status = labBooking.getStatus();
+        return labBooking.getDate() != null && labBooking.getTimeSlotId() != null
+                && (status == null || !status.toLowerCase(Locale.ROOT).startsWith("cancel"));
+    }
+
+    public List<SlotAvailability> getDayAvailability(LocalDate date) {
+        DayCounters day = counters(date);
+        List<SlotAvailability> slots = new ArrayList<>(SLOT_TIMES.size());
+        for (int i = 0; i < SLOT_TIMES.size(); i++) {
+            slots.add(new SlotAvailability((long) (i + 1), SLOT_TIMES.get(i), day.capacity[i], day.remaining(i)));
+        }
+        return slots;
+    }
+
+    /**
+     * Makes sure the capacity row of the slot exists. Runs in its own short
+     * transaction, so it must be called before the booking transaction opens;
+     * a concurrent request creating the same row is not an error.
+     */
+    public void prepare(LocalDate date, Long timeSlotId) {
+        int index = indexOf(timeSlotId);
+        DayCounters day = counters(date);
+        if (day.persisted[index]) {
+            return;
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        try {
+            template.executeWithoutResult(status -> {
+                if (labSlotCapacityRepository.existsBySlotDateAndTimeSlotId(date, timeSlotId)) {
+                    return;
+                }
+                int booked = 0;
+                for (Object[] count : labBookingRepository.countActiveBySlot(date)) {
+                    if (timeSlotId.equals(count[0])) {
+                        booked = ((Long) count[1]).intValue();
+                    }
+                }
+                LabSlotCapacity row = new LabSlotCapacity();
+                row.setSlotDate(date);
+                row.setTimeSlotId(timeSlotId);
+                row.setCapacity(day.capacity[index]);
+                row.setBooked(booked);
+                labSlotCapacityRepository.saveAndFlush(row);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Request khác vừa tạo dòng này
+        }
+        day.persisted[index] = true;
+    }
+
+    /**
+     * Claims one place in the slot as part of the caller's transaction, or throws
+     * LabSlotFullException when the slot has no place left according to the
+     * database. The in-memory counter is incremented only once the transaction
+     * commits.
+     */
+    @Transactional
+    public void reserve(LocalDate date, Long timeSlotId) {
+        int index = indexOf(timeSlotId);
+        if (labSlotCapacityRepository.reserve(date, timeSlotId, LocalDateTime.now()) == 0) {
+            // Bộ đếm trong bộ nhớ đã cũ (đặt từ instance khác): nạp lại ở lần đọc sau
+            counters.remove(date);
+            if (!labSlotCapacityRepository.existsBySlotDateAndTimeSlotId(date, timeSlotId)) {
+                throw new IllegalStateException("Capacity of lab time slot " + timeSlotId + " on " + date
+                        + " was not prepared");
+            }
+            throw full(date, timeSlotId);
+        }
+        afterCommit(date, index, 1);
+    }
+
+    @Transactional
+    public void release(LocalDate date, Long timeSlotId) {
+        int index = indexOf(timeSlotId);
+        if (labSlotCapacityRepository.release(date, timeSlotId, LocalDateTime.now()) > 0) {
+            afterCommit(date, index, -1);
+        }
+    }
+
+    private DayCounters counters(LocalDate date) {
+        DayCounters day = counters.get(date);
+        long now = System.currentTimeMillis();
+        if (day == null || now - day.loadedAt > refreshSeconds * 1000) {
+            day = load(date, now);
+            counters.put(date, day);
+            LocalDate today = LocalDate.now();
+            counters.keySet().removeIf(d -> d.isBefore(today));
+        }
+        return day;
+    }
+
+    private DayCounters load(LocalDate date, long now) {
+        DayCounters day = new DayCounters(now);
+        int capacity = date.getDayOfWeek() == DayOfWeek.SUNDAY ? 0 : slotCapacity;
+        Arrays.fill(day.capacity, capacity);
+        int rows = 0;
+        for (LabSlotCapacity row : labSlotCapacityRepository.findBySlotDate(date)) {
+            int index = (int) (row.getTimeSlotId() - 1);
+            if (index >= 0 && index < SLOT_TIMES.size()) {
+                day.capacity[index] = row.getCapacity();
+                day.booked.set(index, row.getBooked());
+                day.persisted[index] = true;
+                rows++;
+            }
+        }
+        if (rows < SLOT_TIMES.size()) {
+            // Slot chưa có dòng capacity: đếm trực tiếp các lượt đặt hiện có
+            for (Object[] count : labBookingRepository.countActiveBySlot(date)) {
+                int index = (int) ((Long) count[0] - 1);
+                if (index >= 0 && index < SLOT_TIMES.size() && !day.persisted[index]) {
+                    day.booked.set(index, ((Long) count[1]).intValue());
+                }
+            }
+        }
+        return day;
+    }
+
+    private void afterCommit(LocalDate date, int index, int delta) {
+        Runnable update = () -> {
+            DayCounters day = counters.get(date);
+            if (day != null) {
+                day.booked.addAndGet(index, delta);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private int indexOf(Long timeSlotId) {
+        if (timeSlotId == null || timeSlotId < 1 || timeSlotId > SLOT_TIMES.size()) {
+            throw new ResourceNotFoundException("Lab time slot not found with id: " + timeSlotId);
+        }
+        return (int) (timeSlotId - 1);
+    }
+
+    private static LabSlotFullException full(LocalDate date, Long timeSlotId) {
+        return new LabSlotFullException("Lab time slot " + SLOT_TIMES.get((int) (timeSlotId - 1))
+                + " on " + date + " is fully booked");
+    }
+
+    private static final class DayCounters {
+        private final int[] capacity = new int[SLOT_TIMES.size()];
+        private final AtomicIntegerArray booked = new AtomicIntegerArray(SLOT_TIMES.size());
+        // Slot đã có dòng trong lab_slot_capacities
+        private final boolean[] persisted = new boolean[SLOT_TIMES.size()];
+        private final long loadedAt;
+
+        private DayCounters(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        private int remaining(int index) {
+            return Math.max(capacity[index] - booked.get(index), 0);
+        }
+    }
+
+    public static final class SlotAvailability {
+        private final Long id;
+        private final String time;
+        private final int capacity;
+        private final int remaining;
+
+        private SlotAvailability(Long id, String time, int capacity, int remaining) {
+            this.id = id;
+            this.time = time;
+            this.capacity = capacity;
+            this.remaining = remaining;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTime() {
+            return time;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getRemaining() {
+            return remaining;
+        }
+    }
+}
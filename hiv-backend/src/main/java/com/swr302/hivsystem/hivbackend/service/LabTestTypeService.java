@@ -5,6 +5,7 @@ import com.swr302.hivsystem.hivbackend.repository.LabTestTypeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,22 +13,27 @@ import java.util.Optional;
 public class LabTestTypeService {
 
     private final LabTestTypeRepository labTestTypeRepository;
+    private final ReferenceDataService referenceDataService;
 
     @Autowired
-    public LabTestTypeService(LabTestTypeRepository labTestTypeRepository) {
+    public LabTestTypeService(LabTestTypeRepository labTestTypeRepository, ReferenceDataService referenceDataService) {
         this.labTestTypeRepository = labTestTypeRepository;
+        this.referenceDataService = referenceDataService;
     }
 
+    // Đọc từ danh mục cache; mọi thao tác ghi bên dưới đều xóa cache
     public List<LabTestType> getAllLabTestTypes() {
-        return labTestTypeRepository.findAll();
+        return new ArrayList<>(referenceDataService.getLabTestTypeCatalog().values());
     }
 
     public Optional<LabTestType> getLabTestTypeById(Long id) {
-        return labTestTypeRepository.findById(id);
+        return Optional.ofNullable(referenceDataService.getLabTestTypeCatalog().get(id));
     }
 
     public LabTestType createLabTestType(LabTestType labTestType) {
-        return labTestTypeRepository.save(labTestType);
+        LabTestType saved = labTestTypeRepository.save(labTestType);
+        referenceDataService.evictLabTestTypes();
+        return saved;
     }
 
     public LabTestType updateLabTestType(Long id, LabTestType labTestTypeDetails) {
@@ -39,10 +45,13 @@ public class LabTestTypeService {
         labTestType.setPrice(labTestTypeDetails.getPrice());
         labTestType.setDurationMinutes(labTestTypeDetails.getDurationMinutes());
 
-        return labTestTypeRepository.save(labTestType);
+        LabTestType saved = labTestTypeRepository.save(labTestType);
+        referenceDataService.evictLabTestTypes();
+        return saved;
     }
 
     public void deleteLabTestType(Long id) {
         labTestTypeRepository.deleteById(id);
+        referenceDataService.evictLabTestTypes();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Bản gửi tạm: chỉ ghi log, dùng khi chưa cấu hình kênh gửi thật (email/push)
+@Component
+public class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(List<TreatmentReminder> reminders) {
+        if (logger.isDebugEnabled()) {
+            for (TreatmentReminder reminder : reminders) {
+                logger.debug("Reminder {} ({}) sent at {}", reminder.getId(), reminder.getReminderType(), reminder.getReminderDate());
+            }
+        }
+        logger.info("Dispatched {} reminders", reminders.size());
+    }
+}
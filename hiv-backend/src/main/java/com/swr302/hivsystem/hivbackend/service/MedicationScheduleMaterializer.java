@@ -0,0 +1,17 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MedicationScheduleMaterializer {
+    @Autowired
+    private MedicationScheduleService medicationScheduleService;
+
+    // Mỗi ngày ghi thêm lịch uống thuốc để luôn đủ N ngày phía trước (chỉ khi bật rolling window)
+    @Scheduled(cron = "${app.medication-schedule.extend-cron:0 10 0 * * *}")
+    public void extendSchedules() {
+        medicationScheduleService.extendRollingWindow();
+    }
+}
@@ -0,0 +1,236 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.dto.MedicationScheduleDTO;
+import com.swr302.hivsystem.hivbackend.model.MedicationSchedule;
+import com.swr302.hivsystem.hivbackend.model.Prescription;
+import com.swr302.hivsystem.hivbackend.model.PrescriptionDetail;
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+import com.swr302.hivsystem.hivbackend.model.User;
+import com.swr302.hivsystem.hivbackend.repository.MedicationScheduleRepository;
+import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import com.swr302.hivsystem.hivbackend.repository.PrescriptionDetailRepository;
+import com.swr302.hivsystem.hivbackend.repository.TreatmentReminderRepository;
+import com.swr302.hivsystem.hivbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class MedicationScheduleService {
+
+    private static final String MEDICATION_REMINDER = "MEDICATION";
+
+    @Autowired
+    private MedicationScheduleRepository medicationScheduleRepository;
+
+    @Autowired
+    private PrescriptionDetailRepository prescriptionDetailRepository;
+
+    @Autowired
+    private TreatmentReminderRepository treatmentReminderRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Số ngày lịch uống thuốc được ghi trước xuống DB; 0 = ghi toàn bộ liệu trình ngay khi kê đơn
+    @Value("${app.medication-schedule.window-days:0}")
+    private int windowDays;
+
+    // Số liệu trình được gia hạn trong mỗi giao dịch của job hằng ngày
+    @Value("${app.medication-schedule.batch-size:500}")
+    private int batchSize;
+
+    // Tách chuỗi tần suất "08:00,20:00" thành các giờ uống; bỏ qua giờ sai định dạng
+    public List<LocalTime> parseIntakeTimes(String frequency) {
+        List<LocalTime> times = new ArrayList<>();
+        if (frequency == null) {
+            return times;
+        }
+        for (String timeStr : frequency.split(",")) {
+            timeStr = timeStr.trim();
+            if (timeStr.isEmpty()) continue;
+            try {
+                String[] hm = timeStr.split(":");
+                times.add(LocalTime.of(Integer.parseInt(hm[0]), Integer.parseInt(hm[1])));
+            } catch (Exception e) {
+                // Bỏ qua nếu sai định dạng giờ
+            }
+        }
+        return times;
+    }
+
+    // Sinh lịch uống thuốc cho các ngày [fromDate, toDate)
+    public List<MedicationSchedule> buildSchedules(Prescription prescription, LocalDate fromDate,
+                                                   LocalDate toDate, String frequency) {
+        List<MedicationSchedule> schedules = new ArrayList<>();
+        List<LocalTime> times = parseIntakeTimes(frequency);
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDate date = fromDate; date.isBefore(toDate); date = date.plusDays(1)) {
+            for (LocalTime time : times) {
+                MedicationSchedule schedule = new MedicationSchedule();
+                schedule.setPrescription(prescription);
+                schedule.setIntakeTime(date.atTime(time));
+                schedule.setStatus("Pending");
+                schedule.setCreatedAt(now);
+                schedule.setUpdatedAt(now);
+                schedules.add(schedule);
+            }
+        }
+        return schedules;
+    }
+
+    public int saveSchedules(List<MedicationSchedule> schedules) {
+        return medicationScheduleRepository.batchInsert(schedules);
+    }
+
+    /**
+     * Records the dose plan of a newly saved prescription on its details and writes
+     * the concrete schedule rows: the whole course in eager mode, or only the
+     * rolling window ahead of today when app.medication-schedule.window-days is set.
+     */
+    @Transactional
+    public int materialize(Prescription prescription, LocalDate startDate) {
+        LocalDate horizon = horizon();
+        List<MedicationSchedule> schedules = new ArrayList<>();
+        for (PrescriptionDetail detail : prescription.getDetails()) {
+            int durationDays = detail.getDurationDays() != null ? Math.max(detail.getDurationDays(), 0) : 0;
+            detail.setScheduleEndDate(startDate.plusDays(durationDays));
+            detail.setScheduledUntil(startDate);
+            schedules.addAll(extend(detail, horizon));
+        }
+        return saveSchedules(schedules);
+    }
+
+    /**
+     * Writes the schedule rows of unfinished courses up to the rolling horizon, in
+     * batches of app.medication-schedule.batch-size details, one transaction each.
+     * Every detail is claimed with a conditional UPDATE on scheduled_until before
+     * its rows are inserted, so when the job runs on several nodes at once each
+     * window is written by exactly one of them. Patients who turned medication
+     * reminders on get reminders for the new rows in the same transaction.
+     */
+    public int extendRollingWindow() {
+        LocalDate horizon = horizon();
+        if (horizon == null) {
+            return 0;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int written = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = prescriptionDetailRepository.findPendingMaterializationIds(horizon, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            List<Long> batch = ids;
+            written += transactionTemplate.execute(status -> extendBatch(batch, horizon));
+        } while (ids.size() == batchSize);
+        return written;
+    }
+
+    private int extendBatch(List<Long> ids, LocalDate horizon) {
+        List<MedicationSchedule> schedules = new ArrayList<>();
+        for (PrescriptionDetail detail : prescriptionDetailRepository.findWithPrescriptionByIdIn(ids)) {
+            LocalDate from = detail.getScheduledUntil();
+            LocalDate to = windowEnd(detail, horizon);
+            // 0 dòng = node khác đã nhận cửa sổ này
+            if (to.isAfter(from) && prescriptionDetailRepository.claimWindow(detail.getId(), from, to) == 1) {
+                schedules.addAll(buildSchedules(detail.getPrescription(), from, to, detail.getFrequency()));
+            }
+        }
+        int written = saveSchedules(schedules);
+        createMedicationReminders(schedules);
+        return written;
+    }
+
+    // Nhắc nhở uống thuốc cho các liều vừa ghi, chỉ với bệnh nhân đang bật nhắc nhở; giữ người tạo như lúc bật
+    private int createMedicationReminders(List<MedicationSchedule> schedules) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Set<LocalDateTime>> intakeTimesByPatient = new HashMap<>();
+        for (MedicationSchedule schedule : schedules) {
+            if (schedule.getIntakeTime().isAfter(now)) {
+                Long patientId = schedule.getPrescription().getTreatmentPlan().getPatient().getId();
+                intakeTimesByPatient.computeIfAbsent(patientId, id -> new TreeSet<>()).add(schedule.getIntakeTime());
+            }
+        }
+        if (intakeTimesByPatient.isEmpty()) {
+            return 0;
+        }
+        List<TreatmentReminder> reminders = new ArrayList<>();
+        for (Object[] row : treatmentReminderRepository.findReminderCreators(intakeTimesByPatient.keySet(),
+                MEDICATION_REMINDER, "COMPLETED")) {
+            Long patientId = (Long) row[0];
+            User createdBy = userRepository.getReferenceById((Long) row[1]);
+            for (LocalDateTime intakeTime : intakeTimesByPatient.get(patientId)) {
+                TreatmentReminder reminder = new TreatmentReminder();
+                reminder.setCreatedBy(createdBy);
+                reminder.setPatient(patientRepository.getReferenceById(patientId));
+                reminder.setReminderType(MEDICATION_REMINDER);
+                reminder.setReminderDate(intakeTime);
+                reminder.setStatus("PENDING");
+                reminders.add(reminder);
+            }
+        }
+        // Trùng (patient, loại, thời điểm) với nhắc nhở đã có thì bỏ qua
+        return treatmentReminderRepository.batchInsert(reminders);
+    }
+
+    // Các liều chưa ghi xuống DB, tính trực tiếp từ tần suất và thời gian điều trị (id = null)
+    @Transactional(readOnly = true)
+    public List<MedicationScheduleDTO> getVirtualSchedules(Long patientId) {
+        List<MedicationScheduleDTO> result = new ArrayList<>();
+        for (PrescriptionDetail detail : prescriptionDetailRepository.findUnmaterializedByPatientId(patientId)) {
+            String medicationName = detail.getMedication() != null ? detail.getMedication().getName() : null;
+            List<LocalTime> times = parseIntakeTimes(detail.getFrequency());
+            for (LocalDate date = detail.getScheduledUntil(); date.isBefore(detail.getScheduleEndDate()); date = date.plusDays(1)) {
+                for (LocalTime time : times) {
+                    result.add(new MedicationScheduleDTO(null, date.atTime(time), "Pending",
+                            medicationName, detail.getDosage(), detail.getFrequency()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<MedicationSchedule> extend(PrescriptionDetail detail, LocalDate horizon) {
+        LocalDate from = detail.getScheduledUntil();
+        LocalDate to = windowEnd(detail, horizon);
+        if (!to.isAfter(from)) {
+            return new ArrayList<>();
+        }
+        detail.setScheduledUntil(to);
+        return buildSchedules(detail.getPrescription(), from, to, detail.getFrequency());
+    }
+
+    private static LocalDate windowEnd(PrescriptionDetail detail, LocalDate horizon) {
+        LocalDate to = detail.getScheduleEndDate();
+        return horizon != null && horizon.isBefore(to) ? horizon : to;
+    }
+
+    // Ngày cuối (không bao gồm) của cửa sổ rolling; null khi ghi toàn bộ liệu trình
+    private LocalDate horizon() {
+        return windowDays > 0 ? LocalDate.now().plusDays(windowDays) : null;
+    }
+}
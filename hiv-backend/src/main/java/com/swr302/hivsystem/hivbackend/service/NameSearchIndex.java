@@ -0,0 +1,405 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over (id, code, full name) rows. Names are
+ * accent-folded ("Nguyễn Văn Đạt" -> "nguyen van dat") and split into tokens
+ * kept in a sorted vocabulary, so each query term is a prefix range lookup
+ * instead of a LIKE '%x%' scan. Terms with no prefix hit fall back to tokens
+ * within a small edit distance, found through a trigram map over the vocabulary.
+ * Codes live in their own sorted map and match by prefix.
+ *
+ * Code matches rank first (exact, then by code). Name matches need every query
+ * term to match a token and rank by exact/prefix/fuzzy matches, then shorter
+ * names, then id. Reads are lock-free; writes are serialized.
+ */
+public class NameSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final byte EXACT_SCORE = 3;
+    private static final byte PREFIX_SCORE = 2;
+    private static final byte FUZZY_SCORE = 1;
+
+    // Thứ tự phụ khi cùng điểm; các dòng của mỗi token được giữ sẵn theo thứ tự này
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparingInt((Entry e) -> e.nameLength)
+            .thenComparingLong(e -> e.id);
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt((Scored s) -> -s.score)
+            .thenComparing(s -> s.entry, ENTRY_ORDER);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Từ điển token của họ tên, sắp xếp để tra theo tiền tố
+    private final ConcurrentSkipListMap<String, Token> vocabulary = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Set<Entry>> codes = new ConcurrentSkipListMap<>();
+    // trigram -> token, chỉ dùng cho tìm gần đúng
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    // Id đã được ghi trong lúc nạp ban đầu; dữ liệu nạp từ DB cho các id này có thể đã cũ
+    private final Set<Long> touchedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Id đang có trong chỉ mục, tăng dần
+    public long[] sortedIds() {
+        return entries.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    public synchronized void put(Long id, String code, String fullName) {
+        if (!ready) {
+            touchedWhileLoading.add(id);
+        }
+        doPut(id, code, fullName);
+    }
+
+    public synchronized void remove(Long id) {
+        if (!ready) {
+            touchedWhileLoading.add(id);
+        }
+        doRemove(id);
+    }
+
+    // Dòng nạp từ DB không được ghi đè thay đổi mới hơn từ service
+    public synchronized void load(Long id, String code, String fullName) {
+        if (!touchedWhileLoading.contains(id)) {
+            doPut(id, code, fullName);
+        }
+    }
+
+    public synchronized void markReady() {
+        ready = true;
+        touchedWhileLoading.clear();
+    }
+
+    /**
+     * Ids of the best matching rows for the query, starting at offset. An empty
+     * query matches nothing.
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        String foldedQuery = fold(query);
+        List<String> terms = tokenize(foldedQuery);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int wanted = Math.max(offset, 0) + limit;
+
+        // Khớp mã: duyệt theo thứ tự mã và dừng khi đủ số dòng cần
+        Set<Long> result = new LinkedHashSet<>();
+        String code = foldedQuery.replace(" ", "");
+        for (Set<Entry> sameCode : codes.subMap(code, true, code + Character.MAX_VALUE, false).values()) {
+            for (Entry entry : sameCode) {
+                if (result.size() < wanted) {
+                    result.add(entry.id);
+                }
+            }
+            if (result.size() >= wanted) {
+                break;
+            }
+        }
+        if (result.size() < wanted) {
+            for (Scored scored : searchNames(terms, wanted)) {
+                if (result.size() >= wanted) {
+                    break;
+                }
+                result.add(scored.entry.id);
+            }
+        }
+
+        List<Long> page = new ArrayList<>(result);
+        return offset >= page.size() ? Collections.emptyList() : page.subList(Math.max(offset, 0), page.size());
+    }
+
+    private List<Scored> searchNames(List<String> terms, int wanted) {
+        // Điểm của các token khớp với mỗi term (chỉ token khớp, không theo cỡ từ điển); duyệt theo term có ít dòng nhất
+        List<Map<Token, Byte>> termScores = new ArrayList<>(terms.size());
+        Map<Token, Byte> driverScores = null;
+        int driverSize = Integer.MAX_VALUE;
+        for (String term : terms) {
+            Map<Token, Byte> scores = new HashMap<>();
+            for (Token token : vocabulary.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                scores.put(token, token.text.equals(term) ? EXACT_SCORE : PREFIX_SCORE);
+            }
+            if (scores.isEmpty()) {
+                for (String text : fuzzyMatches(term)) {
+                    Token token = vocabulary.get(text);
+                    if (token != null) {
+                        scores.put(token, FUZZY_SCORE);
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+            termScores.add(scores);
+            int size = 0;
+            for (Token token : scores.keySet()) {
+                size += token.entries.size();
+            }
+            if (size < driverSize) {
+                driverScores = scores;
+                driverSize = size;
+            }
+        }
+
+        // Heap giữ các dòng tốt nhất, dòng kém nhất ở đầu
+        PriorityQueue<Scored> top = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+        Map<Token, Byte> driverTermScores = driverScores;
+        List<Token> driver = new ArrayList<>(driverTermScores.keySet());
+        boolean multiToken = driver.size() > 1;
+        driver.sort(Comparator.comparingInt((Token t) -> -driverTermScores.get(t)));
+        for (Token token : driver) {
+            // Điểm tối đa một dòng của token này có thể đạt; các dòng sau chỉ kém hơn theo thứ tự phụ
+            int bound = driverTermScores.get(token) + EXACT_SCORE * (terms.size() - 1);
+            for (Entry entry : token.entries) {
+                if (top.size() >= wanted && !ranksBefore(bound, entry, top.peek())) {
+                    break;
+                }
+                // Dòng có nhiều token cùng khớp term dẫn chỉ được xét ở token điểm cao nhất (đầu tiên nếu bằng điểm)
+                if (multiToken && bestMatchingToken(entry, driverTermScores) != token) {
+                    continue;
+                }
+                int score = score(entry, termScores);
+                if (score == 0) {
+                    continue;
+                }
+                if (top.size() < wanted) {
+                    top.add(new Scored(entry, score));
+                } else if (ranksBefore(score, entry, top.peek())) {
+                    top.poll();
+                    top.add(new Scored(entry, score));
+                }
+            }
+        }
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private static boolean ranksBefore(int score, Entry entry, Scored other) {
+        if (score != other.score) {
+            return score > other.score;
+        }
+        return ENTRY_ORDER.compare(entry, other.entry) < 0;
+    }
+
+    // Mỗi term lấy điểm cao nhất trên các token của dòng; một term không khớp = loại
+    private static int score(Entry entry, List<Map<Token, Byte>> termScores) {
+        int total = 0;
+        for (Map<Token, Byte> scores : termScores) {
+            int best = 0;
+            for (Token token : entry.tokens) {
+                Byte score = scores.get(token);
+                if (score != null && score > best) {
+                    best = score;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static Token bestMatchingToken(Entry entry, Map<Token, Byte> scores) {
+        Token best = null;
+        int bestScore = 0;
+        for (Token token : entry.tokens) {
+            Byte score = scores.get(token);
+            if (score != null && score > bestScore) {
+                best = token;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    // Bỏ dấu tiếng Việt, đ -> d, chữ thường, chỉ giữ chữ và số
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    private static List<String> tokenize(String folded) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Token có chung trigram với term và cách term tối đa 1 (term ngắn) hoặc 2 phép sửa
+    private Set<String> fuzzyMatches(String term) {
+        if (term.length() < 3) {
+            return Collections.emptySet();
+        }
+        int maxEdits = term.length() <= 5 ? 1 : 2;
+        Set<String> seen = new HashSet<>();
+        Set<String> matches = new HashSet<>();
+        for (String gram : trigramsOf(term)) {
+            Set<String> tokens = trigrams.get(gram);
+            if (tokens == null) {
+                continue;
+            }
+            for (String token : tokens) {
+                if (seen.add(token) && Math.abs(token.length() - term.length()) <= maxEdits
+                        && editDistance(term, token, maxEdits) <= maxEdits) {
+                    matches.add(token);
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Levenshtein có cắt sớm khi vượt quá max
+    private static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static Set<String> trigramsOf(String token) {
+        Set<String> grams = new HashSet<>();
+        String padded = " " + token + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private void doPut(Long id, String code, String fullName) {
+        doRemove(id);
+        String foldedName = fold(fullName);
+        List<Token> tokens = new ArrayList<>();
+        for (String text : new LinkedHashSet<>(tokenize(foldedName))) {
+            tokens.add(vocabulary.computeIfAbsent(text, this::newToken));
+        }
+        String foldedCode = fold(code).replace(" ", "");
+        Entry entry = new Entry(id, foldedCode, foldedName.length(), tokens.toArray(new Token[0]));
+        for (Token token : tokens) {
+            token.entries.add(entry);
+        }
+        if (!foldedCode.isEmpty()) {
+            codes.computeIfAbsent(foldedCode, c -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+        entries.put(id, entry);
+    }
+
+    private Token newToken(String text) {
+        for (String gram : trigramsOf(text)) {
+            trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(text);
+        }
+        return new Token(text);
+    }
+
+    private void doRemove(Long id) {
+        Entry old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        if (!old.code.isEmpty()) {
+            Set<Entry> sameCode = codes.get(old.code);
+            if (sameCode != null) {
+                sameCode.remove(old);
+                if (sameCode.isEmpty()) {
+                    codes.remove(old.code);
+                }
+            }
+        }
+        for (Token token : old.tokens) {
+            token.entries.remove(old);
+            if (token.entries.isEmpty()) {
+                vocabulary.remove(token.text);
+                for (String gram : trigramsOf(token.text)) {
+                    Set<String> texts = trigrams.get(gram);
+                    if (texts != null) {
+                        texts.remove(token.text);
+                        if (texts.isEmpty()) {
+                            trigrams.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Token {
+        private final String text;
+        private final Set<Entry> entries = new ConcurrentSkipListSet<>(ENTRY_ORDER);
+
+        private Token(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final String code;
+        private final int nameLength;
+        private final Token[] tokens;
+
+        private Entry(long id, String code, int nameLength, Token[] tokens) {
+            this.id = id;
+            this.code = code;
+            this.nameLength = nameLength;
+            this.tokens = tokens;
+        }
+    }
+
+    private static final class Scored {
+        private final Entry entry;
+        private final int score;
+
+        private Scored(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.swr302.hivsystem.hivbackend.service;
 
 import com.swr302.hivsystem.hivbackend.dto.PatientDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 public interface PatientService {
@@ -10,7 +13,8 @@ public interface PatientService {
     PatientDTO getPatientById(Long id);
     List<PatientDTO> getAllPatients();
     PatientDTO getPatientByPatientCode(String patientCode);
-    List<PatientDTO> searchPatients(String keyword);
+    PatientDTO getPatientProfileByUserId(Long userId);
+    Slice<PatientDTO> searchPatients(String keyword, Pageable pageable);
     boolean existsByPatientCode(String patientCode);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
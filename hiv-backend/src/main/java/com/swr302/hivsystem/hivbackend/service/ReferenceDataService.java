@@ -0,0 +1,69 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
+import com.swr302.hivsystem.hivbackend.model.ConsultationType;
+import com.swr302.hivsystem.hivbackend.model.LabTestType;
+import com.swr302.hivsystem.hivbackend.model.MedicalService;
+import com.swr302.hivsystem.hivbackend.repository.ConsultationTypeRepository;
+import com.swr302.hivsystem.hivbackend.repository.LabTestTypeRepository;
+import com.swr302.hivsystem.hivbackend.repository.MedicalServiceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache đọc xuyên (read-through) cho dữ liệu danh mục ít thay đổi dùng khi đặt lịch
+@Service
+public class ReferenceDataService {
+
+    public static final String DEFAULT_MEDICAL_SERVICE_NAME = "Tư vấn HIV";
+
+    @Autowired
+    private MedicalServiceRepository medicalServiceRepository;
+
+    @Autowired
+    private ConsultationTypeRepository consultationTypeRepository;
+
+    @Autowired
+    private LabTestTypeRepository labTestTypeRepository;
+
+    // Dịch vụ mặc định cho tư vấn online: 'Tư vấn HIV' hoặc dịch vụ đầu tiên
+    @Cacheable(cacheNames = CacheConfig.MEDICAL_SERVICES, key = "'default'", unless = "#result == null")
+    public MedicalService getDefaultMedicalService() {
+        return medicalServiceRepository.findByName(DEFAULT_MEDICAL_SERVICE_NAME)
+                .or(() -> medicalServiceRepository.findFirstByOrderByIdAsc())
+                .orElse(null);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CONSULTATION_TYPES, key = "#id", unless = "#result == null")
+    public ConsultationType getConsultationType(Long id) {
+        return consultationTypeRepository.findById(id).orElse(null);
+    }
+
+    // Toàn bộ danh mục loại xét nghiệm theo id (bảng nhỏ), đọc một lần mỗi TTL
+    @Cacheable(cacheNames = CacheConfig.LAB_TEST_TYPES, key = "'catalog'")
+    public Map<Long, LabTestType> getLabTestTypeCatalog() {
+        Map<Long, LabTestType> catalog = new LinkedHashMap<>();
+        for (LabTestType labTestType : labTestTypeRepository.findAll(Sort.by("id"))) {
+            catalog.put(labTestType.getId(), labTestType);
+        }
+        return Collections.unmodifiableMap(catalog);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.MEDICAL_SERVICES, allEntries = true)
+    public void evictMedicalServices() {
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CONSULTATION_TYPES, allEntries = true)
+    public void evictConsultationTypes() {
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.LAB_TEST_TYPES, allEntries = true)
+    public void evictLabTestTypes() {
+    }
+}
@@ -2,32 +2,80 @@ package com.swr302.hivsystem.hivbackend.service;
 
 import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
 import com.swr302.hivsystem.hivbackend.repository.TreatmentReminderRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import java.net.InetAddress;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class ReminderScheduler {
     @Autowired
     private TreatmentReminderRepository treatmentReminderRepository;
 
+    @Autowired
+    private ReminderSender reminderSender;
+
+    // Số nhắc nhở xử lý mỗi lô và số lô tối đa mỗi lần chạy
+    @Value("${app.reminders.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.reminders.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    // Thời gian một node được giữ lô nhắc nhở trước khi node khác có thể nhận lại
+    @Value("${app.reminders.lease-seconds:120}")
+    private long leaseSeconds;
+
+    // Để trống thì tự sinh từ hostname, mỗi instance scheduler một id riêng
+    @Value("${app.reminders.node-id:}")
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (Exception e) {
+                host = "node";
+            }
+            nodeId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
     // Chạy mỗi 20 giây
     @Scheduled(fixedRate = 20000)
     public void updateRemindersStatus() {
-        System.out.println("Backend timezone: " + java.util.TimeZone.getDefault().getID());
-        System.out.println("Server LocalDateTime.now(): " + java.time.LocalDateTime.now());
         LocalDateTime nowPlus5 = LocalDateTime.now().plusMinutes(5);
-        List<TreatmentReminder> dueReminders = treatmentReminderRepository
-            .findByStatusAndReminderDateBefore("PENDING", nowPlus5);
-        System.out.println("Scheduler running at " + LocalDateTime.now() + ", found " + dueReminders.size() + " reminders to update.");
-        for (TreatmentReminder reminder : dueReminders) {
-            reminder.setStatus("SENT");
-            treatmentReminderRepository.save(reminder);
-            System.out.println("Updated reminder id " + reminder.getId() + " to SENT");
-            // TODO: Gửi thông báo/email nếu muốn
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            // Giữ một lô nhắc nhở đến hạn cho node này, gửi, rồi mới đánh dấu SENT
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = treatmentReminderRepository
+                .findClaimableIds("PENDING", nowPlus5, now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            treatmentReminderRepository.claim(ids, "PENDING", nodeId, now.plusSeconds(leaseSeconds), now);
+            List<TreatmentReminder> claimed = treatmentReminderRepository.findClaimed(ids, nodeId, "PENDING");
+            if (!claimed.isEmpty()) {
+                reminderSender.send(claimed);
+                List<Long> claimedIds = claimed.stream().map(TreatmentReminder::getId).collect(Collectors.toList());
+                treatmentReminderRepository.completeClaimed(claimedIds, nodeId, "PENDING", "SENT", LocalDateTime.now());
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+
+import java.util.List;
+
+/**
+ * Delivers reminders claimed by this node. They are marked SENT once send returns;
+ * if it throws, the lease lapses and a node picks them up again. Register another
+ * bean (e.g. email or push) as @Primary to replace the logging default.
+ */
+public interface ReminderSender {
+    void send(List<TreatmentReminder> reminders);
+}
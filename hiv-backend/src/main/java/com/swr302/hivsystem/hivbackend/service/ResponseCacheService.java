@@ -0,0 +1,169 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized responses of the public catalog endpoints. Each entry holds the
+ * JSON bytes, a gzipped copy and a strong ETag, keyed by path and query string;
+ * ResponseCacheFilter serves them without reaching the controllers. Writes
+ * evict a whole endpoint prefix after their transaction commits, and a
+ * response computed while an eviction happened is not stored.
+ */
+@Service
+public class ResponseCacheService {
+
+    public static final String DOCTORS = "/api/doctors";
+
+    public static final String MEDICAL_SERVICES = "/api/medical-services";
+
+    public static final String LAB_TEST_TYPES = "/api/labtesttypes";
+
+    public static final String CONSULTATION_TYPES = "/api/consultation-types";
+
+    public static final List<String> PREFIXES = Collections.unmodifiableList(Arrays.asList(
+            DOCTORS, MEDICAL_SERVICES, LAB_TEST_TYPES, CONSULTATION_TYPES));
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Tăng mỗi lần xóa cache của prefix; dùng để bỏ các response tính trước khi xóa
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    // Prefix của đường dẫn được cache, null nếu không thuộc các endpoint danh mục
+    public String prefixOf(String path) {
+        for (String prefix : PREFIXES) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    public long generation(String prefix) {
+        return generations.computeIfAbsent(prefix, k -> new AtomicLong()).get();
+    }
+
+    public CachedResponse get(String key) {
+        return cache().get(key, CachedResponse.class);
+    }
+
+    public CachedResponse put(String prefix, long generation, String key, byte[] body, String contentType,
+                              Map<String, List<String>> headers) {
+        CachedResponse response = new CachedResponse(body, gzip(body), etag(body), contentType, headers);
+        if (generation(prefix) == generation) {
+            cache().put(key, response);
+        }
+        return response;
+    }
+
+    public void evict(String prefix) {
+        Runnable eviction = () -> {
+            generations.computeIfAbsent(prefix, k -> new AtomicLong()).incrementAndGet();
+            cache().getNativeCache().asMap().keySet().removeIf(key -> prefix.equals(prefixOf(pathOf(key.toString()))));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static String pathOf(String key) {
+        int query = key.indexOf('?');
+        return query < 0 ? key : key.substring(0, query);
+    }
+
+    private CaffeineCache cache() {
+        return (CaffeineCache) cacheManager.getCache(CacheConfig.CATALOG_RESPONSES);
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        // Response nhỏ thì nén không có lợi
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    public static final class CachedResponse {
+        private final byte[] body;
+        private final byte[] gzippedBody;
+        private final String etag;
+        private final String gzipEtag;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+
+        private CachedResponse(byte[] body, byte[] gzippedBody, String etag, String contentType,
+                               Map<String, List<String>> headers) {
+            this.body = body;
+            this.gzippedBody = gzippedBody;
+            this.etag = etag;
+            // ETag mạnh phải khác nhau giữa bản gốc và bản nén
+            this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+            this.contentType = contentType;
+            this.headers = headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public byte[] getGzippedBody() {
+            return gzippedBody;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+    }
+}
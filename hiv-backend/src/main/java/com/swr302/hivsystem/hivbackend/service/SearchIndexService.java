@@ -0,0 +1,236 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.model.Doctor;
+import com.swr302.hivsystem.hivbackend.model.Patient;
+import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
+import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the patient and doctor search indexes in sync with the database. Both
+ * are loaded in id batches once the application is ready and then updated by
+ * every write path after its transaction commits. Until loading finishes the
+ * search methods return null and callers fall back to the database query.
+ *
+ * Writes made on other instances (or directly in the database) are picked up by
+ * a periodic refresh that reloads the rows whose updated_at is past the last
+ * run, minus an overlap for clock skew and transactions still in flight, and by
+ * a less frequent sweep that drops ids no longer present in the table.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private final NameSearchIndex patients = new NameSearchIndex();
+    private final NameSearchIndex doctors = new NameSearchIndex();
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Value("${app.search.index-enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${app.search.refresh-overlap-seconds:60}")
+    private long refreshOverlapSeconds;
+
+    // Mốc updated_at của lần làm mới kế tiếp; null = chỉ mục chưa nạp xong
+    private volatile LocalDateTime patientsSince;
+    private volatile LocalDateTime doctorsSince;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        if (!enabled) {
+            return;
+        }
+        patientsSince = load("patients", patients, patientRepository::findSearchKeys);
+        doctorsSince = load("doctors", doctors, doctorRepository::findSearchKeys);
+    }
+
+    @Scheduled(initialDelayString = "${app.search.refresh-delay-ms:60000}",
+            fixedDelayString = "${app.search.refresh-delay-ms:60000}")
+    public void refreshIndexes() {
+        if (!enabled) {
+            return;
+        }
+        patientsSince = refresh("patients", patients, patientsSince, patientRepository::findSearchKeysUpdatedSince);
+        doctorsSince = refresh("doctors", doctors, doctorsSince, doctorRepository::findSearchKeysUpdatedSince);
+    }
+
+    @Scheduled(initialDelayString = "${app.search.sweep-delay-ms:900000}",
+            fixedDelayString = "${app.search.sweep-delay-ms:900000}")
+    public void sweepDeleted() {
+        if (!enabled) {
+            return;
+        }
+        sweep("patients", patients, patientRepository::findIdsAfter);
+        sweep("doctors", doctors, doctorRepository::findIdsAfter);
+    }
+
+    // null = chỉ mục chưa sẵn sàng, dùng truy vấn DB thay thế
+    public List<Long> searchPatientIds(String keyword, int offset, int limit) {
+        return patients.isReady() ? patients.search(keyword, offset, limit) : null;
+    }
+
+    public List<Long> searchDoctorIds(String keyword, int offset, int limit) {
+        return doctors.isReady() ? doctors.search(keyword, offset, limit) : null;
+    }
+
+    public void indexPatient(Patient patient) {
+        Long id = patient.getId();
+        String code = patient.getPatientCode();
+        String fullName = patient.getFullName();
+        afterCommit(() -> patients.put(id, code, fullName));
+    }
+
+    public void removePatient(Long id) {
+        afterCommit(() -> patients.remove(id));
+    }
+
+    public void indexDoctor(Doctor doctor) {
+        Long id = doctor.getId();
+        String code = doctor.getDoctorCode();
+        String fullName = doctor.getFullName();
+        afterCommit(() -> doctors.put(id, code, fullName));
+    }
+
+    public void removeDoctor(Long id) {
+        afterCommit(() -> doctors.remove(id));
+    }
+
+    private LocalDateTime load(String name, NameSearchIndex index, BiFunction<Long, Pageable, List<Object[]>> batches) {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = watermark();
+        try {
+            Long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = batches.apply(afterId, PageRequest.of(0, loadBatchSize));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    index.load(afterId, (String) row[1], (String) row[2]);
+                }
+            } while (rows.size() == loadBatchSize);
+            index.markReady();
+            logger.info("Search index for {} loaded: {} rows in {} ms", name, index.size(),
+                    System.currentTimeMillis() - start);
+            return since;
+        } catch (RuntimeException e) {
+            logger.warn("Search index for {} not loaded, falling back to database search: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    // Nạp lại các dòng có updated_at >= since; trả về mốc cho lần sau (giữ nguyên nếu lỗi)
+    private LocalDateTime refresh(String name, NameSearchIndex index, LocalDateTime since, UpdatedSinceQuery batches) {
+        if (since == null || !index.isReady()) {
+            return since;
+        }
+        LocalDateTime next = watermark();
+        try {
+            int refreshed = 0;
+            Long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = batches.find(since, afterId, PageRequest.of(0, loadBatchSize));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    index.put(afterId, (String) row[1], (String) row[2]);
+                }
+                refreshed += rows.size();
+            } while (rows.size() == loadBatchSize);
+            logger.debug("Search index for {} refreshed: {} rows changed since {}", name, refreshed, since);
+            return next;
+        } catch (RuntimeException e) {
+            logger.warn("Search index for {} not refreshed: {}", name, e.getMessage());
+            return since;
+        }
+    }
+
+    /**
+     * Removes the indexed ids that are no longer in the table, walking the
+     * table's ids in batches alongside a sorted snapshot of the index. The
+     * snapshot is taken first, so every id in it was committed before the
+     * table is read and a missing id really was deleted.
+     */
+    private void sweep(String name, NameSearchIndex index, BiFunction<Long, Pageable, List<Long>> batches) {
+        if (!index.isReady()) {
+            return;
+        }
+        try {
+            long[] indexed = index.sortedIds();
+            int next = 0;
+            int removed = 0;
+            Long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = batches.apply(afterId, PageRequest.of(0, loadBatchSize));
+                for (Long id : ids) {
+                    while (next < indexed.length && indexed[next] < id) {
+                        index.remove(indexed[next++]);
+                        removed++;
+                    }
+                    if (next < indexed.length && indexed[next] == id) {
+                        next++;
+                    }
+                    afterId = id;
+                }
+            } while (ids.size() == loadBatchSize);
+            while (next < indexed.length) {
+                index.remove(indexed[next++]);
+                removed++;
+            }
+            if (removed > 0) {
+                logger.info("Search index for {}: {} deleted rows removed", name, removed);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Search index for {} not swept: {}", name, e.getMessage());
+        }
+    }
+
+    private LocalDateTime watermark() {
+        return LocalDateTime.now().minusSeconds(refreshOverlapSeconds);
+    }
+
+    // Chỉ cập nhật chỉ mục khi giao dịch ghi đã commit
+    private void afterCommit(Runnable update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private interface UpdatedSinceQuery {
+        List<Object[]> find(LocalDateTime since, Long afterId, Pageable pageable);
+    }
+}
@@ -1,15 +1,29 @@
 package com.swr302.hivsystem.hivbackend.service.impl;
 
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
 import com.swr302.hivsystem.hivbackend.dto.DoctorDTO;
 import com.swr302.hivsystem.hivbackend.exception.ResourceNotFoundException;
 import com.swr302.hivsystem.hivbackend.model.Doctor;
 import com.swr302.hivsystem.hivbackend.repository.DoctorRepository;
 import com.swr302.hivsystem.hivbackend.service.DoctorService;
+import com.swr302.hivsystem.hivbackend.service.ResponseCacheService;
+import com.swr302.hivsystem.hivbackend.service.SearchIndexService;
+import com.swr302.hivsystem.hivbackend.util.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,6 +33,15 @@ public class DoctorServiceImpl implements DoctorService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     @Override
     public DoctorDTO createDoctor(DoctorDTO doctorDTO) {
         if (existsByDoctorCode(doctorDTO.getDoctorCode())) {
@@ -34,6 +57,8 @@ public class DoctorServiceImpl implements DoctorService {
         Doctor doctor = new Doctor();
         updateDoctorFromDTO(doctor, doctorDTO);
         Doctor savedDoctor = doctorRepository.save(doctor);
+        searchIndexService.indexDoctor(savedDoctor);
+        responseCacheService.evict(ResponseCacheService.DOCTORS);
         return convertToDTO(savedDoctor);
     }
 
@@ -44,15 +69,20 @@ public class DoctorServiceImpl implements DoctorService {
 
         updateDoctorFromDTO(doctor, doctorDTO);
         Doctor updatedDoctor = doctorRepository.save(doctor);
+        searchIndexService.indexDoctor(updatedDoctor);
+        evictProfile(updatedDoctor);
+        responseCacheService.evict(ResponseCacheService.DOCTORS);
         return convertToDTO(updatedDoctor);
     }
 
     @Override
     public void deleteDoctor(Long id) {
-        if (!doctorRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Doctor not found with id: " + id);
-        }
-        doctorRepository.deleteById(id);
+        Doctor doctor = doctorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + id));
+        doctorRepository.delete(doctor);
+        evictProfile(doctor);
+        searchIndexService.removeDoctor(id);
+        responseCacheService.evict(ResponseCacheService.DOCTORS);
     }
 
     @Override
@@ -62,7 +92,9 @@ public class DoctorServiceImpl implements DoctorService {
         return convertToDTO(doctor);
     }
 
+    // Các request đồng thời dùng chung một lần truy vấn
     @Override
+    @SingleFlight
     public List<DoctorDTO> getAllDoctors() {
         return doctorRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -83,12 +115,31 @@ public class DoctorServiceImpl implements DoctorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ranked, accent-insensitive search by name or doctor code served from the
+     * in-memory index; falls back to a LIKE query while the index is loading.
+     */
     @Override
-    public List<DoctorDTO> searchDoctors(String keyword) {
-        return doctorRepository.findByFullNameContainingOrDoctorCodeContaining(keyword, keyword)
-                .stream()
+    @Transactional(readOnly = true)
+    public Slice<DoctorDTO> searchDoctors(String keyword, Pageable pageable) {
+        // Lấy thêm một id để biết còn trang sau
+        List<Long> ids = searchIndexService.searchDoctorIds(keyword, pageable.getPageNumber() * pageable.getPageSize(),
+                pageable.getPageSize() + 1);
+        if (ids == null) {
+            return doctorRepository.findByFullNameContainingOrDoctorCodeContaining(keyword, keyword, pageable).map(this::convertToDTO);
+        }
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+        Map<Long, Doctor> byId = doctorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        List<DoctorDTO> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
     @Override
@@ -108,10 +159,17 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public Doctor getDoctorByUserId(Long userId) {
-        return doctorRepository.findAll().stream()
-            .filter(doctor -> doctor.getUser() != null && doctor.getUser().getId().equals(userId))
-            .findFirst()
-            .orElse(null);
+        return doctorRepository.findByUser_Id(userId).orElse(null);
+    }
+
+    // Hồ sơ của bác sĩ đang đăng nhập, cache theo userId; bị xóa khi cập nhật/ngừng hoạt động
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_PROFILES, key = "#userId", unless = "#result == null")
+    public DoctorDTO getDoctorProfileByUserId(Long userId) {
+        return doctorRepository.findByUser_Id(userId)
+                .map(this::convertToDTO)
+                .orElse(null);
     }
 
     @Override
@@ -123,9 +181,32 @@ public class DoctorServiceImpl implements DoctorService {
         }
         doctor.setStatus(com.swr302.hivsystem.hivbackend.model.DoctorStatus.INACTIVE);
         Doctor updatedDoctor = doctorRepository.save(doctor);
+        evictProfile(updatedDoctor);
+        responseCacheService.evict(ResponseCacheService.DOCTORS);
         return convertToDTO(updatedDoctor);
     }
 
+    // Xóa sau commit, nếu không /me đọc song song có thể nạp lại hồ sơ cũ vào cache
+    private void evictProfile(Doctor doctor) {
+        if (doctor.getUser() != null) {
+            Long userId = doctor.getUser().getId();
+            afterCommit(() -> cacheManager.getCache(CacheConfig.DOCTOR_PROFILES).evict(userId));
+        }
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
     private void updateDoctorFromDTO(Doctor doctor, DoctorDTO dto) {
         doctor.setDoctorCode(dto.getDoctorCode());
         doctor.setFullName(dto.getName());
@@ -1,16 +1,28 @@
 package com.swr302.hivsystem.hivbackend.service.impl;
 
+import com.swr302.hivsystem.hivbackend.config.CacheConfig;
 import com.swr302.hivsystem.hivbackend.dto.PatientDTO;
 import com.swr302.hivsystem.hivbackend.exception.ResourceNotFoundException;
 import com.swr302.hivsystem.hivbackend.model.Patient;
 import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
 import com.swr302.hivsystem.hivbackend.service.PatientService;
+import com.swr302.hivsystem.hivbackend.service.SearchIndexService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.swr302.hivsystem.hivbackend.dto.MedicalHistoryDTO;
@@ -31,6 +43,12 @@ public class PatientServiceImpl implements PatientService {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -51,6 +69,7 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = new Patient();
         updatePatientFromDTO(patient, patientDTO);
         Patient savedPatient = patientRepository.save(patient);
+        searchIndexService.indexPatient(savedPatient);
         return convertToDTO(savedPatient);
     }
 
@@ -61,15 +80,18 @@ public class PatientServiceImpl implements PatientService {
 
         updatePatientFromDTO(patient, patientDTO);
         Patient updatedPatient = patientRepository.save(patient);
+        searchIndexService.indexPatient(updatedPatient);
+        evictProfile(updatedPatient);
         return convertToDTO(updatedPatient);
     }
 
     @Override
     public void deletePatient(Long id) {
-        if (!patientRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Patient not found with id: " + id);
-        }
-        patientRepository.deleteById(id);
+        Patient patient = patientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + id));
+        patientRepository.delete(patient);
+        evictProfile(patient);
+        searchIndexService.removePatient(id);
     }
 
     @Override
@@ -93,12 +115,41 @@ public class PatientServiceImpl implements PatientService {
         return convertToDTO(patient);
     }
 
+    /**
+     * Ranked, accent-insensitive search by name or patient code served from the
+     * in-memory index; falls back to a LIKE query while the index is loading.
+     */
     @Override
-    public List<PatientDTO> searchPatients(String keyword) {
-        return patientRepository.findByFullNameContainingOrPatientCodeContaining(keyword, keyword)
-                .stream()
+    @Transactional(readOnly = true)
+    public Slice<PatientDTO> searchPatients(String keyword, Pageable pageable) {
+        // Lấy thêm một id để biết còn trang sau
+        List<Long> ids = searchIndexService.searchPatientIds(keyword, pageable.getPageNumber() * pageable.getPageSize(),
+                pageable.getPageSize() + 1);
+        if (ids == null) {
+            return patientRepository.findByFullNameContainingOrPatientCodeContaining(keyword, keyword, pageable).map(this::convertToDTO);
+        }
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+        Map<Long, Patient> byId = patientRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Patient::getId, Function.identity()));
+        List<PatientDTO> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    // Hồ sơ của bệnh nhân đang đăng nhập, cache theo userId; bị xóa khi cập nhật/xóa
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PATIENT_PROFILES, key = "#userId", unless = "#result == null")
+    public PatientDTO getPatientProfileByUserId(Long userId) {
+        return patientRepository.findByUser_Id(userId)
+                .map(this::convertToDTO)
+                .orElse(null);
     }
 
     @Override
@@ -116,6 +167,27 @@ public class PatientServiceImpl implements PatientService {
         return patientRepository.existsByPhoneNumber(phoneNumber);
     }
 
+    // Xóa sau commit, nếu không /me đọc song song có thể nạp lại hồ sơ cũ vào cache
+    private void evictProfile(Patient patient) {
+        if (patient.getUser() != null) {
+            Long userId = patient.getUser().getId();
+            afterCommit(() -> cacheManager.getCache(CacheConfig.PATIENT_PROFILES).evict(userId));
+        }
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
     private void updatePatientFromDTO(Patient patient, PatientDTO dto) {
         logger.info("Entering updatePatientFromDTO. DTO received: {}", dto);
         patient.setPatientCode(dto.getPatientCode() != null ? dto.getPatientCode() : patient.getPatientCode());
@@ -8,6 +8,7 @@ import com.swr302.hivsystem.hivbackend.model.Role;
 import com.swr302.hivsystem.hivbackend.model.User;
 import com.swr302.hivsystem.hivbackend.repository.RoleRepository;
 import com.swr302.hivsystem.hivbackend.repository.UserRepository;
+import com.swr302.hivsystem.hivbackend.service.CustomUserDetailsService;
 import com.swr302.hivsystem.hivbackend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +31,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     @Override
     public UserDTO createUser(UserDTO userDTO) {
         if (existsByUsername(userDTO.getUsername())) {
@@ -59,6 +63,7 @@ public class UserServiceImpl implements UserService {
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        String previousUsername = existingUser.getUsername();
 
         // Check for username and email uniqueness if they are changed
         if (!existingUser.getUsername().equals(userDTO.getUsername()) && existsByUsername(userDTO.getUsername())) {
@@ -87,15 +92,17 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(existingUser);
+        userDetailsService.evictUser(previousUsername);
+        userDetailsService.evictUser(updatedUser.getUsername());
         return convertToDTO(updatedUser);
     }
 
     @Override
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        userDetailsService.evictUser(user.getUsername());
     }
 
     @Override
@@ -148,6 +155,7 @@ public class UserServiceImpl implements UserService {
         // Encode and set new password
         user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.evictUser(user.getUsername());
     }
 
     @Override
@@ -159,6 +167,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setStatus(com.swr302.hivsystem.hivbackend.model.UserStatus.INACTIVE);
         User updatedUser = userRepository.save(user);
+        userDetailsService.evictUser(updatedUser.getUsername());
         return convertToDTO(updatedUser);
     }
 
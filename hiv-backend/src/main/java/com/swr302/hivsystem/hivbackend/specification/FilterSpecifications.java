@@ -0,0 +1,68 @@
+package com.swr302.hivsystem.hivbackend.specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Null-tolerant building blocks for list filters: a filter whose value is null
+ * adds no restriction, so optional request parameters map onto them directly.
+ * Attribute paths may traverse to-one associations, e.g. "patient.id".
+ */
+public final class FilterSpecifications {
+
+    private FilterSpecifications() {
+    }
+
+    public static <T> Specification<T> equal(String attributePath, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(path(root, attributePath), value);
+    }
+
+    public static <T> Specification<T> equalIgnoreCase(String attributePath, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.upper(path(root, attributePath).as(String.class)), value.toUpperCase());
+    }
+
+    // Khoảng [from, to]; bỏ qua cận nào null
+    public static <T, Y extends Comparable<? super Y>> Specification<T> between(String attributePath, Y from, Y to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Y> path = path(root, attributePath);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+
+    // Kết hợp AND các điều kiện khác null
+    @SafeVarargs
+    public static <T> Specification<T> allOf(Specification<T>... specifications) {
+        return Arrays.stream(specifications)
+                .filter(Objects::nonNull)
+                .reduce(Specification::and)
+                .orElse((root, query, cb) -> cb.conjunction());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y> Path<Y> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return (Path<Y>) path;
+    }
+}
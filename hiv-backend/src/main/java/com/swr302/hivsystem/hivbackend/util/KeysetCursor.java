@@ -0,0 +1,114 @@
+package com.swr302.hivsystem.hivbackend.util;
+
+import com.swr302.hivsystem.hivbackend.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset (seek) paging for time-ordered feeds. Rows are ordered by a timestamp
+ * property and then id, and the next page starts strictly after the last
+ * (timestamp, id) pair returned, so every page costs one index seek no matter
+ * how deep the client scrolls. The pair and the sort direction travel to the
+ * client as an opaque Base64 cursor in the X-Next-Cursor header.
+ */
+public final class KeysetCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String ID_PROPERTY = "id";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Sort direction of a feed: the one recorded in the cursor when continuing,
+     * otherwise the requested one (newest first by default).
+     */
+    public static Sort.Direction direction(String cursor, String direction) {
+        if (cursor != null && !cursor.isBlank()) {
+            return decode(cursor).direction;
+        }
+        return "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    public static Sort sort(String timeProperty, Sort.Direction direction) {
+        return Sort.by(direction, timeProperty).and(Sort.by(direction, ID_PROPERTY));
+    }
+
+    // Vị trí bắt đầu trang; cursor rỗng = trang đầu
+    public static KeysetScrollPosition position(String cursor, String timeProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Decoded decoded = decode(cursor);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(timeProperty, decoded.time);
+        keys.put(ID_PROPERTY, decoded.id);
+        return ScrollPosition.forward(keys);
+    }
+
+    public static int limit(int size) {
+        return Math.min(Math.max(size, 1), Pagination.MAX_PAGE_SIZE);
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(Window<T> window, Sort.Direction direction,
+                                                         Function<T, LocalDateTime> timeOf, Function<T, Long> idOf) {
+        return toResponse(window, direction, timeOf, idOf, Function.identity());
+    }
+
+    // Cursor được tính từ entity cuối trang trước khi chuyển sang DTO
+    public static <T, R> ResponseEntity<List<R>> toResponse(Window<T> window, Sort.Direction direction,
+                                                            Function<T, LocalDateTime> timeOf, Function<T, Long> idOf,
+                                                            Function<T, R> mapper) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (window.hasNext() && !window.isEmpty()) {
+            T last = window.getContent().get(window.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, encode(direction, timeOf.apply(last), idOf.apply(last)));
+        }
+        return response.body(window.getContent().stream().map(mapper).collect(Collectors.toList()));
+    }
+
+    static String encode(Sort.Direction direction, LocalDateTime time, Long id) {
+        String raw = (direction.isAscending() ? "A" : "D") + "|" + time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Decoded decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(parts[0].equals("A") || parts[0].equals("D"))) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Decoded(parts[0].equals("A") ? Sort.Direction.ASC : Sort.Direction.DESC,
+                    LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static final class Decoded {
+        private final Sort.Direction direction;
+        private final LocalDateTime time;
+        private final Long id;
+
+        private Decoded(Sort.Direction direction, LocalDateTime time, Long id) {
+            this.direction = direction;
+            this.time = time;
+            this.id = id;
+        }
+    }
+}
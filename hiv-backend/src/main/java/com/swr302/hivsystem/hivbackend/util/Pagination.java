@@ -0,0 +1,50 @@
+package com.swr302.hivsystem.hivbackend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Paging contract shared by the list endpoints: page/size request parameters
+ * with a capped size, a stable order that always ends on id, and a JSON array
+ * body with the paging state in response headers (no count query).
+ */
+public final class Pagination {
+
+    // Dạng chuỗi để dùng trong @RequestParam(defaultValue)
+    public static final String DEFAULT_PAGE_SIZE = "100";
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final String PAGE_HEADER = "X-Page";
+    public static final String PAGE_SIZE_HEADER = "X-Page-Size";
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+
+    private Pagination() {
+    }
+
+    // Dùng cho các truy vấn đã tự ORDER BY
+    public static Pageable of(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    // sort = "id" hoặc "createdAt"; luôn kèm id để thứ tự giữa các trang không đổi
+    public static Pageable sorted(int page, int size, String sort, String direction) {
+        Sort.Direction dir = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort order = "createdAt".equals(sort)
+                ? Sort.by(dir, "createdAt").and(Sort.by(dir, "id"))
+                : Sort.by(dir, "id");
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), order);
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(PAGE_HEADER, String.valueOf(slice.getNumber()))
+                .header(PAGE_SIZE_HEADER, String.valueOf(slice.getSize()))
+                .header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()))
+                .body(slice.getContent());
+    }
+}
@@ -0,0 +1,25 @@
+package com.swr302.hivsystem.hivbackend.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent identical calls of a bean method: while one call with
+ * the same arguments is running, other callers wait for it and receive the same
+ * result (or exception) instead of computing it again. Calls that start after
+ * it has finished compute afresh, so this complements a cache rather than
+ * replacing it. The returned value is shared between callers and must not be
+ * modified by them.
+ *
+ * Applied outside @Transactional and @Cacheable, so waiting callers hold no
+ * transaction or connection. Like those annotations it only takes effect on
+ * calls through the Spring proxy.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
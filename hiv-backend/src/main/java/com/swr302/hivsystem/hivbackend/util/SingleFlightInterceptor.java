@@ -0,0 +1,98 @@
+package com.swr302.hivsystem.hivbackend.util;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs methods annotated with {@link SingleFlight}: the first caller for a
+ * (target, method, arguments) key computes the result, callers arriving while
+ * it runs wait on the same future. Targets are compared by identity, so two
+ * beans of the same class never share a call. The key is removed as soon as
+ * the call completes.
+ */
+public class SingleFlightInterceptor implements MethodInterceptor {
+
+    private final ConcurrentMap<Key, Flight> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Key key = new Key(invocation.getThis(), invocation.getMethod(), invocation.getArguments());
+        Flight flight = new Flight(Thread.currentThread());
+        Flight running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            // Gọi lồng cùng tham số trong chính luồng đang tính thì không chờ (tránh tự khóa)
+            if (running.leader == Thread.currentThread()) {
+                return invocation.proceed();
+            }
+            return await(running);
+        }
+        try {
+            Object result = invocation.proceed();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(Flight running) throws Throwable {
+        try {
+            return running.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight call", e);
+        }
+    }
+
+    private static final class Flight {
+        private final Thread leader;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(Thread leader) {
+            this.leader = leader;
+        }
+    }
+
+    private static final class Key {
+        private final Object target;
+        private final Method method;
+        private final Object[] arguments;
+        private final int hash;
+
+        private Key(Object target, Method method, Object[] arguments) {
+            this.target = target;
+            this.method = method;
+            this.arguments = arguments.clone();
+            this.hash = 31 * (31 * System.identityHashCode(target) + method.hashCode()) + Arrays.deepHashCode(this.arguments);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return target == key.target && method.equals(key.method) && Arrays.deepEquals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Columns added to existing tables after the V1 baseline. Guarded, because a
+-- database that ran the application with ddl-auto=update may already have them.
+
+-- Rolling medication schedule window (MedicationScheduleService). NULL on rows
+-- written before this change: those courses were materialized in full.
+IF COL_LENGTH('dbo.prescription_details', 'schedule_end_date') IS NULL
+    ALTER TABLE dbo.prescription_details ADD schedule_end_date date;
+IF COL_LENGTH('dbo.prescription_details', 'scheduled_until') IS NULL
+    ALTER TABLE dbo.prescription_details ADD scheduled_until date;
+
+-- Reminder dispatch lease (ReminderScheduler): node holding a claimed batch and until when.
+IF COL_LENGTH('dbo.treatment_reminders', 'owner_node') IS NULL
+    ALTER TABLE dbo.treatment_reminders ADD owner_node varchar(100);
+IF COL_LENGTH('dbo.treatment_reminders', 'lease_expires_at') IS NULL
+    ALTER TABLE dbo.treatment_reminders ADD lease_expires_at datetime2(6);
@@ -0,0 +1,376 @@
+-- Baseline schema for every entity in the model package (SQL Server), exactly as
+-- ddl-auto=update left it before the schema moved to Flyway. Databases previously
+-- managed by ddl-auto=update are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs on empty schemas;
+-- every later change, including new columns, goes in a versioned script after it.
+
+create table appointment_reminders (
+    id bigint identity not null,
+    appointment_id bigint not null,
+    created_at datetime2(6) not null,
+    reminder_time datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    reminder_type varchar(50) not null,
+    status varchar(50) not null,
+    primary key (id)
+);
+
+create table appointments (
+    id bigint identity not null,
+    appointment_date date not null,
+    appointment_time time not null,
+    created_at datetime2(6) not null,
+    doctor_id bigint not null,
+    patient_id bigint not null,
+    service_id bigint not null,
+    updated_at datetime2(6) not null,
+    status varchar(50) not null,
+    notes varchar(max),
+    primary key (id)
+);
+
+create table arv_protocols (
+    id bigint identity not null,
+    is_for_children bit,
+    is_for_pregnant bit,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    name NVARCHAR(500) not null,
+    description NVARCHAR(MAX),
+    primary key (id)
+);
+
+create table consultation_histories (
+    id bigint identity not null,
+    appointment_id bigint not null,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    consultation_content NVARCHAR(MAX),
+    doctor_notes NVARCHAR(MAX),
+    patient_feedback NVARCHAR(MAX),
+    primary key (id)
+);
+
+create table consultation_time_slots (
+    id bigint identity not null,
+    is_booked bit not null,
+    created_at datetime2(6) not null,
+    doctor_id bigint,
+    end_time datetime2(6) not null,
+    start_time datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    primary key (id)
+);
+
+create table consultation_types (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    name NVARCHAR(255) not null,
+    description NVARCHAR(MAX),
+    primary key (id)
+);
+
+create table doctor_schedules (
+    id bigint identity not null,
+    end_time time not null,
+    start_time time not null,
+    created_at datetime2(6) not null,
+    doctor_id bigint not null,
+    updated_at datetime2(6) not null,
+    day_of_week varchar(255) not null check (day_of_week in ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY')),
+    location varchar(255),
+    notes NVARCHAR(MAX) not null,
+    primary key (id)
+);
+
+create table doctors (
+    id bigint identity not null,
+    experience int,
+    max_appointments_per_day int,
+    rating float(53),
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    user_id bigint,
+    address NVARCHAR(MAX),
+    avatar_url varchar(255),
+    doctor_code varchar(255) not null,
+    email varchar(255),
+    full_name NVARCHAR(100) not null,
+    license_number varchar(255) not null,
+    notes varchar(255),
+    phone_number varchar(255),
+    qualification NVARCHAR(MAX) not null,
+    specialization NVARCHAR(MAX) not null,
+    specialty varchar(255),
+    status varchar(255) check (status in ('ACTIVE','INACTIVE','ON_LEAVE')),
+    bio NVARCHAR(MAX),
+    primary key (id)
+);
+
+create table lab_bookings (
+    id bigint identity not null,
+    date date not null,
+    created_at datetime2(6) not null,
+    patient_id bigint not null,
+    test_type_id bigint not null,
+    time_slot_id bigint,
+    updated_at datetime2(6) not null,
+    status varchar(50) not null,
+    notes NVARCHAR(MAX) not null,
+    primary key (id)
+);
+
+create table lab_results (
+    id bigint identity not null,
+    test_date date not null,
+    created_at datetime2(6) not null,
+    entered_by_id bigint not null,
+    patient_id bigint not null,
+    test_type_id bigint not null,
+    updated_at datetime2(6) not null,
+    normal_range NVARCHAR(100),
+    notes NVARCHAR(4000),
+    result_value NVARCHAR(MAX) not null,
+    unit NVARCHAR(50),
+    primary key (id)
+);
+
+create table lab_test_types (
+    id bigint identity not null,
+    duration_minutes int not null,
+    price float(53) not null,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    description NVARCHAR(500),
+    name NVARCHAR(200) not null,
+    primary key (id)
+);
+
+create table medical_blogs (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    published_date datetime2(6),
+    updated_at datetime2(6) not null,
+    author NVARCHAR(255),
+    title NVARCHAR(255) not null,
+    content NVARCHAR(255) not null,
+    primary key (id)
+);
+
+create table medical_records (
+    id bigint identity not null,
+    cd4count int,
+    viral_load int,
+    date_created datetime2(6) not null,
+    patient_id bigint not null,
+    arv_regimen NVARCHAR(255),
+    notes varchar(max),
+    primary key (id)
+);
+
+create table medical_services (
+    id bigint identity not null,
+    default_duration int,
+    price numeric(10,2),
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    description NVARCHAR(255),
+    name NVARCHAR(255) not null,
+    primary key (id)
+);
+
+create table medication_schedules (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    intake_time datetime2(6) not null,
+    prescription_id bigint not null,
+    updated_at datetime2(6) not null,
+    status varchar(50) not null,
+    primary key (id)
+);
+
+create table medications (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    dosage NVARCHAR(100),
+    frequency NVARCHAR(100),
+    name NVARCHAR(255) not null,
+    description NVARCHAR(max),
+    primary key (id)
+);
+
+create table online_consultations (
+    id bigint identity not null,
+    appointment_id bigint not null,
+    consultation_type_id bigint not null,
+    created_at datetime2(6) not null,
+    end_time datetime2(6),
+    start_time datetime2(6),
+    updated_at datetime2(6) not null,
+    meeting_link varchar(255),
+    notes NVARCHAR(max),
+    primary key (id)
+);
+
+create table patient_treatment_plans (
+    id bigint identity not null,
+    end_date date,
+    start_date date not null,
+    arv_protocol_id bigint not null,
+    created_at datetime2(6) not null,
+    doctor_id bigint not null,
+    patient_id bigint not null,
+    updated_at datetime2(6) not null,
+    notes NVARCHAR(max) not null,
+    primary key (id)
+);
+
+create table patients (
+    id bigint identity not null,
+    date_of_birth date,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    user_id bigint,
+    address NVARCHAR(500),
+    blood_type varchar(255),
+    email varchar(255),
+    emergency_contact varchar(255),
+    emergency_phone varchar(255),
+    full_name NVARCHAR(100) not null,
+    gender varchar(255) not null,
+    medical_record_number varchar(255),
+    notes varchar(255),
+    patient_code varchar(255) not null,
+    phone_number varchar(255),
+    allergies varchar(max),
+    medical_history varchar(max),
+    primary key (id)
+);
+
+create table payments (
+    id bigint identity not null,
+    amount numeric(10,2) not null,
+    created_at datetime2(6) not null,
+    lab_booking_id bigint,
+    online_consultation_id bigint,
+    patient_id bigint not null,
+    payment_date datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    method varchar(50) not null,
+    status varchar(50) not null,
+    notes varchar(max),
+    primary key (id)
+);
+
+create table prescription_details (
+    id bigint identity not null,
+    duration_days int,
+    medication_id bigint not null,
+    prescription_id bigint not null,
+    dosage varchar(100),
+    frequency varchar(100),
+    notes varchar(max),
+    primary key (id)
+);
+
+create table prescriptions (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    treatment_plan_id bigint not null,
+    updated_at datetime2(6) not null,
+    notes varchar(max),
+    primary key (id)
+);
+
+create table roles (
+    id bigint identity not null,
+    role_name varchar(50) not null,
+    description varchar(max),
+    primary key (id)
+);
+
+create table staff (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    user_id bigint not null,
+    status varchar(50),
+    department varchar(100),
+    position varchar(100),
+    primary key (id)
+);
+
+create table treatment_reminders (
+    id bigint identity not null,
+    created_at datetime2(6) not null,
+    created_by_id bigint not null,
+    patient_id bigint not null,
+    reminder_date datetime2(6) not null,
+    updated_at datetime2(6) not null,
+    reminder_type varchar(50) not null,
+    status varchar(50) not null,
+    primary key (id)
+);
+
+create table users (
+    id bigint identity not null,
+    is_anonymous bit,
+    created_at datetime2(6) not null,
+    role_id bigint not null,
+    updated_at datetime2(6) not null,
+    phone_number varchar(20),
+    username varchar(50) not null,
+    full_name varchar(100) not null,
+    email varchar(120) not null,
+    password varchar(255) not null,
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE')),
+    primary key (id)
+);
+
+-- Unique constraints
+alter table consultation_histories add constraint UK47f5rryttqwrtb92pn4iaaim8 unique (appointment_id);
+alter table doctors add constraint UKm9b9dtrqd29msht6lwqp0y1aw unique (doctor_code);
+create unique nonclustered index UKcaifv0va46t2mu85cg5afmayf on doctors (email) where email is not null;
+alter table doctors add constraint UK1xu5x0jae737xae254t4rgcd1 unique (license_number);
+alter table online_consultations add constraint UKm3kthnfukflrwf60wmvp635yj unique (appointment_id);
+create unique nonclustered index UKa370hmxgv0l5c9panryr1ji7d on patients (email) where email is not null;
+alter table patients add constraint UKpdu5f0e015icwwcx7otn46rv8 unique (patient_code);
+create unique nonclustered index UK5n4cu37l1xt038bskwdtpg4f9 on payments (lab_booking_id) where lab_booking_id is not null;
+create unique nonclustered index UKjvon03wjevb72is6t949njm1p on payments (online_consultation_id) where online_consultation_id is not null;
+alter table roles add constraint UK716hgxp60ym1lifrdgp67xt5k unique (role_name);
+alter table staff add constraint UK7qatq4kob2sr6rlp44khhj53g unique (user_id);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+-- Foreign keys
+alter table appointment_reminders add constraint FKe571qr2hmfv4fg8xcdqkk8339 foreign key (appointment_id) references appointments;
+alter table appointments add constraint FKmujeo4tymoo98cmf7uj3vsv76 foreign key (doctor_id) references doctors;
+alter table appointments add constraint FKn3l3mhd2vs7vn3njn2t6lijkb foreign key (service_id) references medical_services;
+alter table appointments add constraint FK8exap5wmg8kmb1g1rx3by21yt foreign key (patient_id) references patients;
+alter table consultation_histories add constraint FKbqi3kgrn6gogonwfo99svyk1r foreign key (appointment_id) references appointments;
+alter table consultation_time_slots add constraint FKb82fylin154mcfg1u8d1bruik foreign key (doctor_id) references doctors;
+alter table doctor_schedules add constraint FKqptts4sun4tpv6elafrnrfeup foreign key (doctor_id) references doctors;
+alter table doctors add constraint FKe9pf5qtxxkdyrwibaevo9frtk foreign key (user_id) references users;
+alter table lab_results add constraint FKlh0eevbg98g95w0sgceupklse foreign key (entered_by_id) references users;
+alter table lab_results add constraint FK9bal0xl1o3gfxdx9i1i5pafdf foreign key (patient_id) references patients;
+alter table lab_results add constraint FK30tsch9h1v1b8ayxo936n9ao7 foreign key (test_type_id) references lab_test_types;
+alter table medical_records add constraint FKrav12h9aiw7pegjt62p8owwn3 foreign key (patient_id) references patients;
+alter table medication_schedules add constraint FKm7c63mk9vjdt6n1upbtgl7wt1 foreign key (prescription_id) references prescriptions;
+alter table online_consultations add constraint FKqlgfghlwpue4gco3e889du4rm foreign key (appointment_id) references appointments;
+alter table online_consultations add constraint FKme4uywk1fnw772vi9b5797031 foreign key (consultation_type_id) references consultation_types;
+alter table patient_treatment_plans add constraint FKmf92x7tomcxvpouv0khcvv4vd foreign key (arv_protocol_id) references arv_protocols;
+alter table patient_treatment_plans add constraint FKcbowcevtj6qcbcui5d9gm8h31 foreign key (doctor_id) references doctors;
+alter table patient_treatment_plans add constraint FK1jvc9s12279mmsak8mcc2f823 foreign key (patient_id) references patients;
+alter table patients add constraint FKuwca24wcd1tg6pjex8lmc0y7 foreign key (user_id) references users;
+alter table payments add constraint FKkx0jhx0s01hn45fyx60i237qc foreign key (lab_booking_id) references lab_bookings;
+alter table payments add constraint FKoqnjx5wtmlfxhkp4lywy812jt foreign key (online_consultation_id) references online_consultations;
+alter table payments add constraint FKlvfcgbin5vh2ivae1l87bmawb foreign key (patient_id) references patients;
+alter table prescription_details add constraint FKab9vxya57fdlvcsb91ynnssng foreign key (medication_id) references medications;
+alter table prescription_details add constraint FKsw4dl29fglymg5hmic0we7gh foreign key (prescription_id) references prescriptions;
+alter table prescriptions add constraint FKqc8swxiv5hm55nq58jcyfoxsf foreign key (treatment_plan_id) references patient_treatment_plans;
+alter table staff add constraint FKdlvw23ak3u9v9bomm8g12rtc0 foreign key (user_id) references users;
+alter table treatment_reminders add constraint FKl070g5m80v8cj2svwemq6ap6m foreign key (created_by_id) references users;
+alter table treatment_reminders add constraint FK52brrmxqy2ru228oy93ekwkno foreign key (patient_id) references patients;
+alter table users add constraint FKp56c1712k691lhsyewcssf40f foreign key (role_id) references roles;
@@ -0,0 +1,61 @@
+-- Indexes backing the repository query methods (mirrors the @Table(indexes) declarations).
+-- Every statement is guarded so the script can run on databases where Hibernate
+-- ddl-auto=update has already created some of these indexes.
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_appointments_patient' AND object_id = OBJECT_ID('dbo.appointments'))
+    CREATE INDEX idx_appointments_patient ON dbo.appointments (patient_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_appointments_doctor_date' AND object_id = OBJECT_ID('dbo.appointments'))
+    CREATE INDEX idx_appointments_doctor_date ON dbo.appointments (doctor_id, appointment_date);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_consultation_time_slots_doctor_start' AND object_id = OBJECT_ID('dbo.consultation_time_slots'))
+    CREATE INDEX idx_consultation_time_slots_doctor_start ON dbo.consultation_time_slots (doctor_id, start_time);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_doctors_user' AND object_id = OBJECT_ID('dbo.doctors'))
+    CREATE INDEX idx_doctors_user ON dbo.doctors (user_id);
+-- doctors.specialization is NVARCHAR(MAX), which SQL Server cannot use as an index key;
+-- findBySpecialization scans the (small) doctors table instead.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_doctor_schedules_doctor_day' AND object_id = OBJECT_ID('dbo.doctor_schedules'))
+    CREATE INDEX idx_doctor_schedules_doctor_day ON dbo.doctor_schedules (doctor_id, day_of_week);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_lab_bookings_patient_date' AND object_id = OBJECT_ID('dbo.lab_bookings'))
+    CREATE INDEX idx_lab_bookings_patient_date ON dbo.lab_bookings (patient_id, date);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_lab_results_patient_created' AND object_id = OBJECT_ID('dbo.lab_results'))
+    CREATE INDEX idx_lab_results_patient_created ON dbo.lab_results (patient_id, created_at, id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_medical_services_name' AND object_id = OBJECT_ID('dbo.medical_services'))
+    CREATE INDEX idx_medical_services_name ON dbo.medical_services (name);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_medication_schedules_prescription_intake' AND object_id = OBJECT_ID('dbo.medication_schedules'))
+    CREATE INDEX idx_medication_schedules_prescription_intake ON dbo.medication_schedules (prescription_id, intake_time, id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_online_consultations_appointment' AND object_id = OBJECT_ID('dbo.online_consultations'))
+    CREATE INDEX idx_online_consultations_appointment ON dbo.online_consultations (appointment_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_patients_user' AND object_id = OBJECT_ID('dbo.patients'))
+    CREATE INDEX idx_patients_user ON dbo.patients (user_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_patients_phone_number' AND object_id = OBJECT_ID('dbo.patients'))
+    CREATE INDEX idx_patients_phone_number ON dbo.patients (phone_number);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_patient_treatment_plans_patient' AND object_id = OBJECT_ID('dbo.patient_treatment_plans'))
+    CREATE INDEX idx_patient_treatment_plans_patient ON dbo.patient_treatment_plans (patient_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_patient_treatment_plans_doctor_patient' AND object_id = OBJECT_ID('dbo.patient_treatment_plans'))
+    CREATE INDEX idx_patient_treatment_plans_doctor_patient ON dbo.patient_treatment_plans (doctor_id, patient_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_payments_patient_created' AND object_id = OBJECT_ID('dbo.payments'))
+    CREATE INDEX idx_payments_patient_created ON dbo.payments (patient_id, created_at, id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_prescriptions_treatment_plan' AND object_id = OBJECT_ID('dbo.prescriptions'))
+    CREATE INDEX idx_prescriptions_treatment_plan ON dbo.prescriptions (treatment_plan_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_prescription_details_prescription' AND object_id = OBJECT_ID('dbo.prescription_details'))
+    CREATE INDEX idx_prescription_details_prescription ON dbo.prescription_details (prescription_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_prescription_details_scheduled_until' AND object_id = OBJECT_ID('dbo.prescription_details'))
+    CREATE INDEX idx_prescription_details_scheduled_until ON dbo.prescription_details (scheduled_until);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_treatment_reminders_status_date' AND object_id = OBJECT_ID('dbo.treatment_reminders'))
+    CREATE INDEX idx_treatment_reminders_status_date ON dbo.treatment_reminders (status, reminder_date);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_treatment_reminders_patient_created' AND object_id = OBJECT_ID('dbo.treatment_reminders'))
+    CREATE INDEX idx_treatment_reminders_patient_created ON dbo.treatment_reminders (patient_id, created_at, id);
+
+-- Databases created by ddl-auto=update may already hold duplicate reminders: keep one
+-- row per (patient, type, date), preferring one that was already sent or completed,
+-- then the oldest, so the unique constraint can be added.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'uk_treatment_reminders_patient_type_date' AND object_id = OBJECT_ID('dbo.treatment_reminders'))
+BEGIN
+    WITH ranked AS (
+        SELECT ROW_NUMBER() OVER (PARTITION BY patient_id, reminder_type, reminder_date
+                                  ORDER BY CASE WHEN status = 'PENDING' THEN 1 ELSE 0 END, id) AS rn
+        FROM dbo.treatment_reminders
+    )
+    DELETE FROM ranked WHERE rn > 1;
+
+    ALTER TABLE dbo.treatment_reminders ADD CONSTRAINT uk_treatment_reminders_patient_type_date UNIQUE (patient_id, reminder_type, reminder_date);
+END
@@ -0,0 +1,18 @@
+-- Per-date capacity counters of the lab test time slots (LabSlotCapacity).
+-- Rows are created by the application on first booking of a slot.
+
+IF OBJECT_ID('dbo.lab_slot_capacities') IS NULL
+    create table lab_slot_capacities (
+        id bigint identity not null,
+        slot_date date not null,
+        time_slot_id bigint not null,
+        capacity int not null,
+        booked int not null,
+        created_at datetime2(6) not null,
+        updated_at datetime2(6) not null,
+        primary key (id),
+        constraint uk_lab_slot_capacities_date_slot unique (slot_date, time_slot_id)
+    );
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_lab_bookings_date_slot' AND object_id = OBJECT_ID('dbo.lab_bookings'))
+    CREATE INDEX idx_lab_bookings_date_slot ON dbo.lab_bookings (date, time_slot_id);
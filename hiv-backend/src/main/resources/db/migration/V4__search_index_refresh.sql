@@ -0,0 +1,7 @@
+-- Indexes for the periodic refresh of the in-memory patient/doctor search indexes,
+-- which reads the rows changed since its last run (SearchIndexService).
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_patients_updated_at' AND object_id = OBJECT_ID('dbo.patients'))
+    CREATE INDEX idx_patients_updated_at ON dbo.patients (updated_at);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_doctors_updated_at' AND object_id = OBJECT_ID('dbo.doctors'))
+    CREATE INDEX idx_doctors_updated_at ON dbo.doctors (updated_at);
@@ -0,0 +1,119 @@
+package com.swr302.hivsystem.hivbackend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The Flyway migrations run against a real SQL Server, followed by
+ * ddl-auto=validate of the entity mappings, exactly as production starts up.
+ * Covers an empty database and a database left by ddl-auto=update before
+ * Flyway (baselined at V1) that still holds duplicate reminders.
+ * Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTest {
+
+    @Container
+    private static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    private static final List<String> ALL_VERSIONS = List.of("1", "1.1", "2", "3", "4");
+
+    @Test
+    void migratesEmptySchemaAndValidatesMappings() throws SQLException {
+        String url = createDatabase("hiv_empty");
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertEquals(ALL_VERSIONS, appliedVersions(jdbcTemplate));
+            assertEquals("SQL", jdbcTemplate.queryForObject(
+                    "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+        }
+    }
+
+    @Test
+    void migratesBaselinedV1SchemaWithDuplicateReminders() throws SQLException {
+        String url = createDatabase("hiv_baselined");
+        // Lược đồ để lại bởi ddl-auto=update: đúng V1 nhưng chưa có lịch sử Flyway
+        Flyway.configure().dataSource(url, SQL_SERVER.getUsername(), SQL_SERVER.getPassword())
+                .target("1").load().migrate();
+        try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE flyway_schema_history");
+            statement.execute("INSERT INTO roles (role_name) VALUES ('PATIENT')");
+            statement.execute("INSERT INTO users (created_at, updated_at, role_id, username, full_name, email, password, status) "
+                    + "VALUES (SYSDATETIME(), SYSDATETIME(), 1, 'patient1', N'Nguyễn Văn An', 'p1@example.com', 'x', 'ACTIVE')");
+            statement.execute("INSERT INTO patients (created_at, updated_at, user_id, full_name, gender, patient_code) "
+                    + "VALUES (SYSDATETIME(), SYSDATETIME(), 1, N'Nguyễn Văn An', 'MALE', 'PAT001')");
+            statement.execute("INSERT INTO treatment_reminders "
+                    + "(created_at, updated_at, created_by_id, patient_id, reminder_type, reminder_date, status) VALUES "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'MEDICATION', '2025-01-01T08:00:00', 'PENDING'), "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'MEDICATION', '2025-01-01T08:00:00', 'SENT'), "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'MEDICATION', '2025-01-01T08:00:00', 'PENDING'), "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'MEDICATION', '2025-01-02T08:00:00', 'PENDING'), "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'MEDICATION', '2025-01-02T08:00:00', 'PENDING'), "
+                    + "(SYSDATETIME(), SYSDATETIME(), 1, 1, 'TEST', '2025-01-01T08:00:00', 'PENDING')");
+        }
+
+        try (ConfigurableApplicationContext context = start(url)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            assertEquals(ALL_VERSIONS, appliedVersions(jdbcTemplate));
+            assertEquals("BASELINE", jdbcTemplate.queryForObject(
+                    "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class));
+
+            // Mỗi (patient, loại, thời điểm) còn một dòng: ưu tiên dòng đã gửi, sau đó dòng cũ nhất
+            List<Map<String, Object>> reminders = jdbcTemplate.queryForList(
+                    "SELECT id, reminder_type, status FROM treatment_reminders ORDER BY id");
+            assertEquals(List.of(2L, 4L, 6L), reminders.stream().map(row -> ((Number) row.get("id")).longValue()).toList());
+            assertEquals("SENT", reminders.get(0).get("status"));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sys.indexes "
+                    + "WHERE name = 'uk_treatment_reminders_patient_type_date'", Integer.class));
+        }
+    }
+
+    // Khởi động ứng dụng như production: Flyway chạy trước, sau đó Hibernate kiểm tra mapping
+    private static ConfigurableApplicationContext start(String url) {
+        return new SpringApplicationBuilder(HivBackendApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + SQL_SERVER.getUsername(),
+                "--spring.datasource.password=" + SQL_SERVER.getPassword(),
+                "--spring.datasource.driver-class-name=" + SQL_SERVER.getDriverClassName(),
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.SQLServerDialect",
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.jpa.defer-datasource-initialization=false",
+                "--spring.sql.init.mode=never",
+                "--spring.flyway.enabled=true",
+                "--spring.flyway.baseline-on-migrate=true",
+                "--spring.flyway.baseline-version=1",
+                "--server.port=0");
+    }
+
+    private static List<String> appliedVersions(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank", String.class);
+    }
+
+    private static String createDatabase(String name) throws SQLException {
+        try (Connection connection = connect(SQL_SERVER.getJdbcUrl()); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        }
+        return SQL_SERVER.getJdbcUrl() + ";databaseName=" + name;
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url, SQL_SERVER.getUsername(), SQL_SERVER.getPassword());
+    }
+}
@@ -0,0 +1,159 @@
+package com.swr302.hivsystem.hivbackend.controller;
+
+import com.swr302.hivsystem.hivbackend.model.PatientTreatmentPlan;
+import com.swr302.hivsystem.hivbackend.repository.PatientTreatmentPlanRepository;
+import com.swr302.hivsystem.hivbackend.security.JwtTokenProvider;
+import com.swr302.hivsystem.hivbackend.service.CustomUserDetailsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Number of JDBC statements prepared per request for the read paths that load
+ * their associations through entity graphs. A regression to lazy loading
+ * (N+1) shows up here as extra statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class FetchPlanStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private PatientTreatmentPlanRepository patientTreatmentPlanRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        UserDetails admin = customUserDetailsService.loadUserByUsername("admin");
+        token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @Test
+    void prescriptionsOfPatient() throws Exception {
+        assertEquals(1, statementsFor("/api/prescriptions/patient/1"));
+    }
+
+    @Test
+    void patientTreatmentPlanById() throws Exception {
+        assertEquals(1, statementsFor("/api/patient-treatment-plans/1"));
+    }
+
+    @Test
+    void patientTreatmentPlanList() throws Exception {
+        long doctorId = seedPlans();
+        mockMvc.perform(get("/api/patient-treatment-plans?doctorId=" + doctorId).header("Authorization", "Bearer " + token))
+                .andExpect(jsonPath("$.length()").value(2));
+        assertEquals(1, statementsFor("/api/patient-treatment-plans"));
+        assertEquals(1, statementsFor("/api/patient-treatment-plans?doctorId=" + doctorId));
+    }
+
+    @Test
+    void patientTreatmentPlansByDoctorAndPatient() {
+        long doctorId = seedPlans();
+        long patientId = jdbcTemplate.queryForObject("SELECT id FROM patients WHERE patient_code = 'PAT-FP1'", Long.class);
+        // Không endpoint đọc nào dùng các truy vấn này; đếm trực tiếp, kể cả khi đọc các liên kết của từng dòng
+        assertEquals(1, statementsFor(() -> patientTreatmentPlanRepository.findByDoctorId(doctorId)));
+        assertEquals(1, statementsFor(() -> patientTreatmentPlanRepository.findByPatientId(patientId)));
+    }
+
+    @Test
+    void labResultById() throws Exception {
+        assertEquals(1, statementsFor("/api/lab-results/1"));
+    }
+
+    @Test
+    void appointmentById() throws Exception {
+        assertEquals(1, statementsFor("/api/appointments/1"));
+    }
+
+    private long statementsFor(String url) throws Exception {
+        // Lần gọi đầu nạp sẵn cache người dùng/phiên đăng nhập, chỉ đếm lần gọi thứ hai
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsFor(Supplier<List<PatientTreatmentPlan>> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<PatientTreatmentPlan> plans = query.get();
+            assertEquals(2, plans.size());
+            for (PatientTreatmentPlan plan : plans) {
+                plan.getPatient().getFullName();
+                plan.getDoctor().getFullName();
+                plan.getArvProtocol().getName();
+            }
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Hai phác đồ của một bác sĩ mới cho hai bệnh nhân khác nhau, thêm một phác đồ của PAT-FP1 với bác sĩ 1; trả về id bác sĩ mới
+    private long seedPlans() {
+        List<Long> existing = jdbcTemplate.queryForList("SELECT id FROM doctors WHERE doctor_code = 'DOC-FP'", Long.class);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        jdbcTemplate.update("INSERT INTO doctors (doctor_code, full_name, specialization, qualification, license_number, "
+                + "status, created_at, updated_at) VALUES ('DOC-FP', 'Doctor FP', 'HIV', 'MD', 'LIC-FP', 'ACTIVE', NOW(), NOW())");
+        long doctorId = jdbcTemplate.queryForObject("SELECT id FROM doctors WHERE doctor_code = 'DOC-FP'", Long.class);
+        jdbcTemplate.update("INSERT INTO arv_protocols (name, description, created_at, updated_at) "
+                + "VALUES ('AZT-FP', 'Zidovudine', NOW(), NOW())");
+        long protocolId = jdbcTemplate.queryForObject("SELECT id FROM arv_protocols WHERE name = 'AZT-FP'", Long.class);
+        long[] patientIds = new long[2];
+        for (int i = 0; i < patientIds.length; i++) {
+            String code = "PAT-FP" + (i + 1);
+            jdbcTemplate.update("INSERT INTO patients (patient_code, full_name, gender, email, created_at, updated_at) "
+                    + "VALUES (?, ?, 'Female', ?, NOW(), NOW())", code, code, code + "@example.com");
+            patientIds[i] = jdbcTemplate.queryForObject("SELECT id FROM patients WHERE patient_code = ?", Long.class, code);
+        }
+        String insertPlan = "INSERT INTO patient_treatment_plans (patient_id, doctor_id, arv_protocol_id, start_date, notes, "
+                + "created_at, updated_at) VALUES (?, ?, ?, CURRENT_DATE, 'fp', NOW(), NOW())";
+        jdbcTemplate.update(insertPlan, patientIds[0], doctorId, 1L);
+        jdbcTemplate.update(insertPlan, patientIds[1], doctorId, protocolId);
+        jdbcTemplate.update(insertPlan, patientIds[0], 1L, protocolId);
+        return doctorId;
+    }
+}
@@ -0,0 +1,100 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.dto.ConsultationRequestDTO;
+import com.swr302.hivsystem.hivbackend.exception.TimeSlotAlreadyBookedException;
+import com.swr302.hivsystem.hivbackend.repository.AppointmentRepository;
+import com.swr302.hivsystem.hivbackend.repository.ConsultationTimeSlotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ConsultationBookingServiceTest {
+
+    private static final int REQUESTS = 200;
+    private static final long DOCTOR_ID = 1L;
+    private static final long PATIENT_USER_ID = 3L;
+    private static final long TIME_SLOT_ID = 1L;
+    private static final LocalDate SLOT_DATE = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private ConsultationBookingService consultationBookingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ConsultationTimeSlotRepository consultationTimeSlotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void concurrentBookingsOfOneSlotLetExactlyOneSucceed() throws Exception {
+        // Nạp lịch trống vào cache trước khi đặt để kiểm tra cache bị xóa sau commit
+        assertTrue(availabilityService.getDayAvailability(DOCTOR_ID, SLOT_DATE).isFree(0));
+        long appointmentsBefore = appointmentRepository.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return consultationBookingService.book(request(), PATIENT_USER_ID);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int conflicts = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(60, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof TimeSlotAlreadyBookedException,
+                            "unexpected failure: " + e.getCause());
+                    conflicts++;
+                }
+            }
+            assertEquals(1, succeeded);
+            assertEquals(REQUESTS - 1, conflicts);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ResponseStatus status = AnnotationUtils.findAnnotation(TimeSlotAlreadyBookedException.class, ResponseStatus.class);
+        assertEquals(HttpStatus.CONFLICT, status.value());
+        assertTrue(consultationTimeSlotRepository.findById(TIME_SLOT_ID).orElseThrow().isBooked());
+        assertEquals(appointmentsBefore + 1, appointmentRepository.count());
+        assertFalse(availabilityService.getDayAvailability(DOCTOR_ID, SLOT_DATE).isFree(0));
+    }
+
+    private static ConsultationRequestDTO request() {
+        ConsultationRequestDTO request = new ConsultationRequestDTO();
+        request.setDoctorId(DOCTOR_ID);
+        request.setDate(SLOT_DATE);
+        request.setTimeSlotId(TIME_SLOT_ID);
+        request.setNotes("Tư vấn");
+        return request;
+    }
+}
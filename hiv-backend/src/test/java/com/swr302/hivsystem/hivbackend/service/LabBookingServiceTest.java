@@ -0,0 +1,114 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.exception.LabSlotFullException;
+import com.swr302.hivsystem.hivbackend.model.LabBooking;
+import com.swr302.hivsystem.hivbackend.model.LabSlotCapacity;
+import com.swr302.hivsystem.hivbackend.repository.LabSlotCapacityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class LabBookingServiceTest {
+
+    private static final int REQUESTS = 100;
+    private static final long TIME_SLOT_ID = 2L;
+
+    @Autowired
+    private LabBookingService labBookingService;
+
+    @Autowired
+    private LabSlotCapacityRepository labSlotCapacityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.lab.slot-capacity:5}")
+    private int capacity;
+
+    @Test
+    void concurrentBookingsNeverOverfillASlot() throws Exception {
+        LocalDate date = LocalDate.of(2030, 1, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LabBooking>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return labBookingService.createLabBooking(booking(date));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int full = 0;
+            for (Future<LabBooking> result : results) {
+                try {
+                    assertNotNull(result.get(60, TimeUnit.SECONDS).getId());
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof LabSlotFullException, "unexpected failure: " + e.getCause());
+                    full++;
+                }
+            }
+            assertEquals(capacity, succeeded);
+            assertEquals(REQUESTS - capacity, full);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(capacity, bookedCount(date));
+    }
+
+    @Test
+    void placeFreedElsewhereIsReservedDespiteStaleCounters() {
+        LocalDate date = LocalDate.of(2030, 1, 9);
+        for (int i = 0; i < capacity; i++) {
+            labBookingService.createLabBooking(booking(date));
+        }
+        // Instance khác hủy một lượt: bộ đếm trong bộ nhớ của instance này vẫn thấy slot đã đầy
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                labSlotCapacityRepository.release(date, TIME_SLOT_ID, LocalDateTime.now()));
+
+        assertNotNull(labBookingService.createLabBooking(booking(date)).getId());
+        assertEquals(capacity, bookedCount(date));
+    }
+
+    private int bookedCount(LocalDate date) {
+        for (LabSlotCapacity row : labSlotCapacityRepository.findBySlotDate(date)) {
+            if (row.getTimeSlotId() == TIME_SLOT_ID) {
+                return row.getBooked();
+            }
+        }
+        return 0;
+    }
+
+    private static LabBooking booking(LocalDate date) {
+        LabBooking labBooking = new LabBooking();
+        labBooking.setPatientId(1L);
+        labBooking.setTestTypeId(1L);
+        labBooking.setDate(date);
+        labBooking.setTimeSlotId(TIME_SLOT_ID);
+        labBooking.setNotes("Xét nghiệm CD4");
+        labBooking.setStatus("Pending");
+        return labBooking;
+    }
+}
@@ -0,0 +1,92 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The daily rolling-window job: new schedule rows for unfinished courses and, for
+ * patients who turned medication reminders on, reminders for those rows.
+ */
+@SpringBootTest
+class MedicationScheduleServiceTest {
+
+    private static final int WINDOW_DAYS = 7;
+    private static final LocalTime INTAKE = LocalTime.of(8, 0);
+
+    @Autowired
+    private MedicationScheduleService medicationScheduleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rollingWindowCreatesRemindersForPatientsWhoTurnedThemOn() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        long withReminders = createCourse("PAT-RW1", tomorrow);
+        long withoutReminders = createCourse("PAT-RW2", tomorrow);
+        // Bệnh nhân đã bật nhắc nhở từ cửa sổ trước; nhắc nhở đầu tiên trùng với liều đầu của cửa sổ mới
+        jdbcTemplate.update("INSERT INTO treatment_reminders (created_by_id, patient_id, reminder_type, reminder_date, status, "
+                + "created_at, updated_at) VALUES (3, ?, 'MEDICATION', ?, 'SENT', NOW(), NOW())",
+                withReminders, Timestamp.valueOf(tomorrow.atTime(INTAKE)));
+
+        MedicationScheduleService target = AopTestUtils.getTargetObject(medicationScheduleService);
+        ReflectionTestUtils.setField(target, "windowDays", WINDOW_DAYS);
+        try {
+            medicationScheduleService.extendRollingWindow();
+        } finally {
+            ReflectionTestUtils.setField(target, "windowDays", 0);
+        }
+
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (LocalDate date = tomorrow; date.isBefore(LocalDate.now().plusDays(WINDOW_DAYS)); date = date.plusDays(1)) {
+            expected.add(date.atTime(INTAKE));
+        }
+        assertEquals(expected, intakeTimes(withReminders));
+        assertEquals(expected, intakeTimes(withoutReminders));
+        assertEquals(expected, reminderDates(withReminders));
+        assertEquals(List.of(3L), jdbcTemplate.queryForList("SELECT DISTINCT created_by_id FROM treatment_reminders "
+                + "WHERE patient_id = ?", Long.class, withReminders));
+        assertEquals(List.of(), reminderDates(withoutReminders));
+    }
+
+    // Liệu trình 30 ngày, đã ghi lịch đến hết hôm nay; trả về id bệnh nhân
+    private long createCourse(String patientCode, LocalDate scheduledUntil) {
+        jdbcTemplate.update("INSERT INTO patients (patient_code, full_name, gender, email, created_at, updated_at) "
+                + "VALUES (?, ?, 'Male', ?, NOW(), NOW())", patientCode, patientCode, patientCode + "@example.com");
+        long patientId = jdbcTemplate.queryForObject("SELECT id FROM patients WHERE patient_code = ?", Long.class, patientCode);
+        jdbcTemplate.update("INSERT INTO patient_treatment_plans (patient_id, doctor_id, arv_protocol_id, start_date, notes, "
+                + "created_at, updated_at) VALUES (?, 1, 1, CURRENT_DATE, ?, NOW(), NOW())", patientId, patientCode);
+        long planId = jdbcTemplate.queryForObject("SELECT id FROM patient_treatment_plans WHERE notes = ?", Long.class, patientCode);
+        jdbcTemplate.update("INSERT INTO prescriptions (treatment_plan_id, notes, created_at, updated_at) "
+                + "VALUES (?, ?, NOW(), NOW())", planId, patientCode);
+        long prescriptionId = jdbcTemplate.queryForObject("SELECT id FROM prescriptions WHERE treatment_plan_id = ?", Long.class, planId);
+        jdbcTemplate.update("INSERT INTO prescription_details (prescription_id, medication_id, dosage, frequency, duration_days, "
+                + "schedule_end_date, scheduled_until, notes) VALUES (?, 1, '1 viên', '08:00', 30, ?, ?, 'n')",
+                prescriptionId, LocalDate.now().plusDays(29), scheduledUntil);
+        return patientId;
+    }
+
+    private List<LocalDateTime> intakeTimes(long patientId) {
+        return jdbcTemplate.queryForList("SELECT ms.intake_time FROM medication_schedules ms "
+                + "JOIN prescriptions p ON p.id = ms.prescription_id JOIN patient_treatment_plans tp ON tp.id = p.treatment_plan_id "
+                + "WHERE tp.patient_id = ? ORDER BY ms.intake_time", LocalDateTime.class, patientId);
+    }
+
+    private List<LocalDateTime> reminderDates(long patientId) {
+        return jdbcTemplate.queryForList("SELECT reminder_date FROM treatment_reminders WHERE patient_id = ? "
+                + "AND reminder_type = 'MEDICATION' ORDER BY reminder_date", LocalDateTime.class, patientId);
+    }
+}
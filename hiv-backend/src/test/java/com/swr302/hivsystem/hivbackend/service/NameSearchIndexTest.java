@@ -0,0 +1,149 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matching, ranking, paging and write/load ordering of the in-memory name index.
+ */
+class NameSearchIndexTest {
+
+    @Test
+    void foldsVietnameseDiacritics() {
+        NameSearchIndex index = readyIndex();
+        index.put(1L, "BN001", "Nguyễn Văn Đạt");
+        index.put(2L, "BN002", "Trần Thị Lan");
+
+        assertEquals("nguyen van dat", NameSearchIndex.fold("Nguyễn Văn Đạt"));
+        assertEquals(List.of(1L), index.search("nguyen van dat", 0, 10));
+        assertEquals(List.of(1L), index.search("dat", 0, 10));
+        assertEquals(List.of(1L), index.search("ĐẠT", 0, 10));
+        assertEquals(List.of(2L), index.search("tran lan", 0, 10));
+    }
+
+    @Test
+    void codePrefixMatchesRankBeforeNameMatches() {
+        NameSearchIndex index = readyIndex();
+        index.put(1L, "XYZ1", "Abc Nguyen");
+        index.put(2L, "ABC12", "Tran Van Binh");
+        index.put(3L, "ABC1", "Le Thi Hoa");
+
+        // Mã khớp theo thứ tự mã, sau đó mới đến dòng khớp tên
+        assertEquals(List.of(3L, 2L, 1L), index.search("abc", 0, 10));
+        assertEquals(List.of(2L), index.search("abc12", 0, 10));
+    }
+
+    @Test
+    void exactTokensRankBeforePrefixesThenShorterNames() {
+        NameSearchIndex index = readyIndex();
+        index.put(1L, "A1", "Pham Van Anhtuan");
+        index.put(2L, "A2", "Pham Anh");
+        index.put(3L, "A3", "Nguyen Thi Anh");
+        // Dòng có cả token khớp tiền tố và token khớp đúng được tính một lần, theo điểm khớp đúng
+        index.put(4L, "A4", "Anhthu Anh");
+
+        assertEquals(List.of(2L, 4L, 3L, 1L), index.search("anh", 0, 10));
+        assertEquals(List.of(2L, 4L), index.search("anh", 0, 2));
+    }
+
+    @Test
+    void fuzzyMatchesWithinOneOrTwoEdits() {
+        NameSearchIndex index = readyIndex();
+        index.put(1L, "A1", "Tran Minh");
+        index.put(2L, "A2", "Le Phuong");
+
+        // Term ngắn (<= 5 ký tự): 1 phép sửa
+        assertEquals(List.of(1L), index.search("minx", 0, 10));
+        assertEquals(List.of(1L), index.search("tran mnh", 0, 10));
+        assertTrue(index.search("mxyn", 0, 10).isEmpty());
+        // Term dài: tối đa 2 phép sửa
+        assertEquals(List.of(2L), index.search("phuonq", 0, 10));
+        assertTrue(index.search("fuong", 0, 10).isEmpty());
+        assertEquals(List.of(2L), index.search("phhuonk", 0, 10));
+        assertTrue(index.search("phxxonk", 0, 10).isEmpty());
+    }
+
+    @Test
+    void pagesByOffsetAndLimit() {
+        NameSearchIndex index = readyIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, "C" + id, "Hoang Van " + "X".repeat((int) id));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search("hoang", 0, 10));
+        assertEquals(List.of(1L, 2L), index.search("hoang", 0, 2));
+        assertEquals(List.of(3L, 4L), index.search("hoang", 2, 2));
+        assertEquals(List.of(5L), index.search("hoang", 4, 2));
+        assertTrue(index.search("hoang", 5, 2).isEmpty());
+        assertTrue(index.search("hoang", 9, 2).isEmpty());
+        assertTrue(index.search("hoang", 0, 0).isEmpty());
+        assertTrue(index.search("   ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void putRemoveAndRePutSameId() {
+        NameSearchIndex index = readyIndex();
+        index.put(1L, "A1", "Vo Thanh Tam");
+        index.put(1L, "A1", "Vo Thanh Hai");
+
+        assertTrue(index.search("tam", 0, 10).isEmpty());
+        assertEquals(List.of(1L), index.search("hai", 0, 10));
+        assertEquals(1, index.size());
+
+        index.remove(1L);
+        assertTrue(index.search("hai", 0, 10).isEmpty());
+        assertTrue(index.search("a1", 0, 10).isEmpty());
+        assertEquals(0, index.size());
+
+        index.put(1L, "A1", "Vo Thanh Tam");
+        assertEquals(List.of(1L), index.search("tam", 0, 10));
+        assertEquals(List.of(1L), index.search("a1", 0, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void repeatedRefreshDoesNotLeaveStaleTokens() {
+        NameSearchIndex index = readyIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.put(1L, "A1", "Dang Quoc " + (i % 2 == 0 ? "Bao" : "Viet"));
+        }
+        index.put(2L, "A2", "Dang Thi Bao");
+
+        assertEquals(List.of(2L), index.search("bao", 0, 10));
+        assertEquals(List.of(1L), index.search("viet", 0, 10));
+        assertEquals(List.of(2L, 1L), index.search("dang", 0, 10));
+    }
+
+    @Test
+    void loadDoesNotOverwriteRowsTouchedWhileLoading() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.put(1L, "A1", "Nguyen Moi");
+        index.remove(2L);
+
+        // Dữ liệu nạp từ DB cũ hơn các thay đổi trên
+        index.load(1L, "A1", "Nguyen Cu");
+        index.load(2L, "A2", "Tran Da Xoa");
+        index.load(3L, "A3", "Le Van Ba");
+        index.markReady();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L), index.search("moi", 0, 10));
+        assertTrue(index.search("cu", 0, 10).isEmpty());
+        assertTrue(index.search("xoa", 0, 10).isEmpty());
+        assertEquals(List.of(3L), index.search("ba", 0, 10));
+
+        // Sau markReady, load lại ghi bình thường
+        index.load(1L, "A1", "Nguyen Cu");
+        assertEquals(List.of(1L), index.search("cu", 0, 10));
+    }
+
+    private static NameSearchIndex readyIndex() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.markReady();
+        return index;
+    }
+}
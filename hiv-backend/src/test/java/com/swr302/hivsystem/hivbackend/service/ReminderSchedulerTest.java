@@ -0,0 +1,173 @@
+package com.swr302.hivsystem.hivbackend.service;
+
+import com.swr302.hivsystem.hivbackend.model.TreatmentReminder;
+import com.swr302.hivsystem.hivbackend.repository.PatientRepository;
+import com.swr302.hivsystem.hivbackend.repository.TreatmentReminderRepository;
+import com.swr302.hivsystem.hivbackend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lease-based claiming of due reminders by several scheduler instances sharing
+ * one database. The application's own scheduler is idle in tests
+ * (app.reminders.max-batches-per-run=0); each test builds its own nodes.
+ */
+@SpringBootTest
+class ReminderSchedulerTest {
+
+    private static final long PATIENT_ID = 1L;
+    private static final long CREATED_BY_USER_ID = 1L;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private TreatmentReminderRepository treatmentReminderRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentNodesSendEachDueReminderExactlyOnce() throws Exception {
+        List<Long> ids = createDueReminders("MEDICATION", 300);
+        ConcurrentLinkedQueue<String> sent = new ConcurrentLinkedQueue<>();
+        ReminderScheduler nodeA = scheduler("node-a", 120, recordingSender("node-a", sent));
+        ReminderScheduler nodeB = scheduler("node-b", 120, recordingSender("node-b", sent));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (ReminderScheduler node : List.of(nodeA, nodeB)) {
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    // Mỗi lần chạy chỉ nhận một lô nhỏ để hai node xen kẽ nhau
+                    for (int i = 0; i < 20; i++) {
+                        node.updateRemindersStatus();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Long, List<String>> sendersById = new HashMap<>();
+        for (String entry : sent) {
+            String[] parts = entry.split(":");
+            sendersById.computeIfAbsent(Long.valueOf(parts[1]), id -> new ArrayList<>()).add(parts[0]);
+        }
+        for (Long id : ids) {
+            List<String> senders = sendersById.get(id);
+            assertTrue(senders != null && senders.size() == 1, "reminder " + id + " sent by " + senders);
+            TreatmentReminder reminder = treatmentReminderRepository.findById(id).orElseThrow();
+            assertEquals("SENT", reminder.getStatus());
+            assertEquals(senders.get(0), reminder.getOwnerNode());
+        }
+    }
+
+    @Test
+    void expiredLeaseIsClaimedByAnotherNode() throws Exception {
+        List<Long> ids = createDueReminders("TEST", 10);
+        ConcurrentLinkedQueue<String> sent = new ConcurrentLinkedQueue<>();
+        // Node A giữ lô rồi gửi lỗi (như khi node chết giữa chừng): lease vẫn còn, trạng thái vẫn PENDING
+        ReminderScheduler nodeA = scheduler("node-a", 1, reminders -> {
+            throw new IllegalStateException("delivery failed");
+        });
+        ReminderScheduler nodeB = scheduler("node-b", 120, recordingSender("node-b", sent));
+
+        try {
+            nodeA.updateRemindersStatus();
+        } catch (IllegalStateException expected) {
+            // lô đã được giữ trước khi gửi
+        }
+        for (Long id : ids) {
+            TreatmentReminder reminder = treatmentReminderRepository.findById(id).orElseThrow();
+            assertEquals("PENDING", reminder.getStatus());
+            assertEquals("node-a", reminder.getOwnerNode());
+        }
+
+        nodeB.updateRemindersStatus();
+        assertTrue(sent.stream().noneMatch(entry -> ids.contains(idOf(entry))), "lease of node-a was not respected");
+
+        Thread.sleep(1500);
+        nodeB.updateRemindersStatus();
+        for (Long id : ids) {
+            assertEquals(1, sent.stream().filter(entry -> idOf(entry).equals(id)).count());
+            TreatmentReminder reminder = treatmentReminderRepository.findById(id).orElseThrow();
+            assertEquals("SENT", reminder.getStatus());
+            assertEquals("node-b", reminder.getOwnerNode());
+        }
+    }
+
+    private ReminderScheduler scheduler(String nodeId, long leaseSeconds, ReminderSender sender) {
+        // Chỉ inject field, không đăng ký @Scheduled cho instance này
+        ReminderScheduler scheduler = new ReminderScheduler();
+        beanFactory.autowireBean(scheduler);
+        ReflectionTestUtils.setField(scheduler, "nodeId", nodeId);
+        ReflectionTestUtils.setField(scheduler, "leaseSeconds", leaseSeconds);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 25);
+        ReflectionTestUtils.setField(scheduler, "maxBatchesPerRun", 1);
+        ReflectionTestUtils.setField(scheduler, "reminderSender", sender);
+        return scheduler;
+    }
+
+    private static ReminderSender recordingSender(String nodeId, ConcurrentLinkedQueue<String> sent) {
+        return reminders -> reminders.forEach(reminder -> sent.add(nodeId + ":" + reminder.getId()));
+    }
+
+    private static Long idOf(String entry) {
+        return Long.valueOf(entry.substring(entry.indexOf(':') + 1));
+    }
+
+    private List<Long> createDueReminders(String reminderType, int count) {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1).withNano(0);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<TreatmentReminder> reminders = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TreatmentReminder reminder = new TreatmentReminder();
+                reminder.setPatient(patientRepository.getReferenceById(PATIENT_ID));
+                reminder.setCreatedBy(userRepository.getReferenceById(CREATED_BY_USER_ID));
+                reminder.setReminderType(reminderType);
+                reminder.setReminderDate(due.minusSeconds(i));
+                reminder.setStatus("PENDING");
+                reminders.add(reminder);
+            }
+            List<Long> ids = new ArrayList<>();
+            for (TreatmentReminder saved : treatmentReminderRepository.saveAll(reminders)) {
+                ids.add(saved.getId());
+            }
+            return ids;
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.swr302.hivsystem.hivbackend.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coalescing of concurrent identical calls, key release and re-entrant calls of
+ * the interceptor behind {@link SingleFlight}, on a plain AOP proxy.
+ */
+class SingleFlightInterceptorTest {
+
+    private static final int CALLERS = 8;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable);
+        threads.add(thread);
+        return thread;
+    });
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneInvocationAndItsResult() throws Exception {
+        BlockingLookup target = new BlockingLookup("a");
+        Lookup lookup = proxy(target, new SingleFlightInterceptor());
+
+        List<Future<Object>> results = callConcurrently(() -> lookup.load("a"));
+        awaitAllWaiting(target);
+        target.release.countDown();
+
+        Object first = get(results.get(0));
+        for (Future<Object> result : results) {
+            assertSame(first, get(result));
+        }
+        assertEquals("a#1", first);
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void concurrentCallersShareOneInvocationAndItsException() throws Exception {
+        BlockingLookup target = new BlockingLookup("a");
+        target.failure = new IllegalStateException("lookup failed");
+        Lookup lookup = proxy(target, new SingleFlightInterceptor());
+
+        List<Future<Object>> results = callConcurrently(() -> lookup.load("a"));
+        awaitAllWaiting(target);
+        target.release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> get(result));
+            assertSame(target.failure, e.getCause());
+        }
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void differentArgumentsAndTargetsDoNotCoalesce() throws Exception {
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor();
+        BlockingLookup target = new BlockingLookup("a");
+        Lookup lookup = proxy(target, interceptor);
+        Future<Object> blocked = executor.submit(() -> lookup.load("a"));
+        awaitCalls(target, 1);
+
+        // "a" vẫn đang chạy: tham số khác, hoặc cùng tham số trên bean khác, phải tự tính
+        Lookup otherLookup = proxy(new BlockingLookup(null), interceptor);
+        assertEquals("b#2", assertTimeoutPreemptively(TIMEOUT, () -> lookup.load("b")));
+        assertEquals("a#1", assertTimeoutPreemptively(TIMEOUT, () -> otherLookup.load("a")));
+        assertFalse(blocked.isDone());
+
+        target.release.countDown();
+        assertEquals("a#1", get(blocked));
+    }
+
+    @Test
+    void keyIsReleasedAfterCompletion() {
+        BlockingLookup target = new BlockingLookup(null);
+        target.failure = new IllegalStateException("lookup failed");
+        Lookup lookup = proxy(target, new SingleFlightInterceptor());
+
+        assertThrows(IllegalStateException.class, () -> lookup.load("a"));
+        target.failure = null;
+        assertEquals("a#2", lookup.load("a"));
+        assertEquals("a#3", lookup.load("a"));
+    }
+
+    @Test
+    void reentrantCallByTheLeaderDoesNotDeadlock() {
+        RecursiveLookup target = new RecursiveLookup();
+        Lookup lookup = proxy(target, new SingleFlightInterceptor());
+        target.self = lookup;
+
+        assertEquals("a@2", assertTimeoutPreemptively(TIMEOUT, () -> lookup.load("a")));
+        assertEquals(3, target.calls.get());
+    }
+
+    private List<Future<Object>> callConcurrently(Callable<Object> call) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    // Người gọi đầu chờ release, những người còn lại chờ kết quả của nó
+    private void awaitAllWaiting(BlockingLookup target) throws InterruptedException {
+        awaitCalls(target, 1);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (waitingThreads() < CALLERS) {
+            assertTrue(System.nanoTime() < deadline, "callers did not start waiting");
+            Thread.sleep(10);
+        }
+    }
+
+    private long waitingThreads() {
+        synchronized (threads) {
+            return threads.stream().filter(thread -> thread.getState() == Thread.State.WAITING).count();
+        }
+    }
+
+    private static void awaitCalls(BlockingLookup target, int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (target.calls.get() < calls) {
+            assertTrue(System.nanoTime() < deadline, "lookup was not called");
+            Thread.sleep(10);
+        }
+    }
+
+    private static Object get(Future<Object> result) throws Exception {
+        return result.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private static Lookup proxy(Lookup target, SingleFlightInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(Lookup.class);
+        factory.addAdvice(interceptor);
+        return (Lookup) factory.getProxy();
+    }
+
+    interface Lookup {
+        Object load(String key);
+    }
+
+    // Trả về "key#số thứ tự lần gọi"; lần gọi với blockedKey chờ đến khi được release
+    private static final class BlockingLookup implements Lookup {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final String blockedKey;
+        private volatile RuntimeException failure;
+
+        private BlockingLookup(String blockedKey) {
+            this.blockedKey = blockedKey;
+        }
+
+        @Override
+        public Object load(String key) {
+            int call = calls.incrementAndGet();
+            if (key.equals(blockedKey)) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return key + "#" + call;
+        }
+    }
+
+    // Gọi lại chính nó qua proxy với cùng tham số, hai tầng
+    private static final class RecursiveLookup implements Lookup {
+        private final AtomicInteger calls = new AtomicInteger();
+        private Lookup self;
+
+        @Override
+        public Object load(String key) {
+            int depth = calls.getAndIncrement();
+            return depth < 2 ? self.load(key) : key + "@" + depth;
+        }
+    }
+}
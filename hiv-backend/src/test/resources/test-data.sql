@@ -0,0 +1,28 @@
+-- Dữ liệu mẫu cho test (mật khẩu: secret123)
+INSERT INTO roles (role_name, description) VALUES ('ROLE_ADMIN', 'Administrator role'), ('ROLE_DOCTOR', 'Doctor role'), ('ROLE_PATIENT', 'Patient role'), ('ROLE_STAFF', 'Staff role');
+INSERT INTO users (username, password, email, full_name, phone_number, role_id, created_at, updated_at, status) VALUES
+('admin', '$2a$10$jc5UUd/L/ZcXFes3I11mVO2n/jqIxXjKd22cBfAep15D0r7yFEGme', 'admin@example.com', 'Admin User', '0123456789', 1, NOW(), NOW(), 'ACTIVE'),
+('doctor1', '$2a$10$jc5UUd/L/ZcXFes3I11mVO2n/jqIxXjKd22cBfAep15D0r7yFEGme', 'doctor1@example.com', 'Doctor One', '0123456781', 2, NOW(), NOW(), 'ACTIVE'),
+('patient1', '$2a$10$jc5UUd/L/ZcXFes3I11mVO2n/jqIxXjKd22cBfAep15D0r7yFEGme', 'patient1@example.com', 'Patient One', '0123456783', 3, NOW(), NOW(), 'ACTIVE');
+INSERT INTO doctors (user_id, doctor_code, full_name, specialization, qualification, license_number, email, status, created_at, updated_at) VALUES
+(2, 'DOC001', 'Doctor One', 'HIV', 'MD', 'LIC001', 'doctor1@example.com', 'ACTIVE', NOW(), NOW());
+INSERT INTO patients (user_id, patient_code, full_name, date_of_birth, gender, address, phone_number, email, created_at, updated_at) VALUES
+(3, 'PAT001', 'Nguyễn Văn An', '1990-01-01', 'Male', 'Hà Nội', '0123456783', 'patient1@example.com', NOW(), NOW());
+INSERT INTO medical_services (name, description, default_duration, price, created_at, updated_at) VALUES ('Tư vấn HIV', 'Tư vấn', 30, 100, NOW(), NOW());
+INSERT INTO consultation_types (name, description, created_at, updated_at) VALUES ('Online', 'Tư vấn trực tuyến', NOW(), NOW());
+INSERT INTO doctor_schedules (doctor_id, day_of_week, start_time, end_time, location, notes, created_at, updated_at) VALUES
+(1, 'MONDAY', '08:00', '11:00', 'A', 'n', NOW(), NOW());
+INSERT INTO consultation_time_slots (doctor_id, start_time, end_time, is_booked, created_at, updated_at) VALUES
+(1, '2030-01-07 08:00:00', '2030-01-07 08:30:00', 0, NOW(), NOW()),
+(1, '2030-01-07 09:00:00', '2030-01-07 09:30:00', 0, NOW(), NOW());
+INSERT INTO arv_protocols (name, description, created_at, updated_at) VALUES ('TDF', 'Tenofovir', NOW(), NOW());
+INSERT INTO medications (name, description, created_at, updated_at) VALUES ('Tenofovir', 'ARV', NOW(), NOW());
+INSERT INTO lab_test_types (name, description, price, duration_minutes, created_at, updated_at) VALUES ('CD4', 'Đếm CD4', 10, 30, NOW(), NOW());
+INSERT INTO patient_treatment_plans (patient_id, doctor_id, arv_protocol_id, start_date, notes, created_at, updated_at) VALUES (1, 1, 1, CURRENT_DATE, 'n', NOW(), NOW());
+INSERT INTO prescriptions (treatment_plan_id, notes, created_at, updated_at) VALUES (1, 'Đơn 1', NOW(), NOW()), (1, 'Đơn 2', NOW(), NOW());
+INSERT INTO prescription_details (prescription_id, medication_id, dosage, frequency, duration_days, notes) VALUES
+(1, 1, '1 viên', '08:00', 30, 'n'), (2, 1, '1 viên', '08:00,20:00', 30, 'n');
+INSERT INTO lab_results (patient_id, test_type_id, test_date, result_value, unit, normal_range, notes, entered_by_id, created_at, updated_at) VALUES
+(1, 1, CURRENT_DATE, '500', 'cells/mm3', '500-1500', 'n', 2, NOW(), NOW());
+INSERT INTO appointments (patient_id, doctor_id, service_id, appointment_date, appointment_time, status, notes, created_at, updated_at) VALUES
+(1, 1, 1, '2030-01-14', '08:00', 'Scheduled', 'n', NOW(), NOW());